@@ -428,6 +428,20 @@ public enum ConfigNodes {
 	NWS_PLOT_MANAGEMENT_REVERT_TIME(
 			"new_world_settings.plot_management.revert_on_unclaim.speed",
 			"1s"),
+	NWS_PLOT_MANAGEMENT_REVERT_SNAPSHOT_BUDGET(
+			"new_world_settings.plot_management.revert_on_unclaim.snapshot_budget",
+			"2",
+			"",
+			"# How many milliseconds of each server tick can be spent taking snapshots",
+			"# of newly claimed plots. The snapshots are compressed and saved off of",
+			"# the main thread. Like speed, this is not set per-world."),
+	NWS_PLOT_MANAGEMENT_REVERT_BUDGET(
+			"new_world_settings.plot_management.revert_on_unclaim.revert_budget",
+			"5",
+			"",
+			"# How many milliseconds of each server tick can be spent reverting unclaimed plots.",
+			"# The blocks needing to be reverted are found off of the main thread, then changed",
+			"# in batches each tick. Like speed, this is not set per-world."),
 	NWS_PLOT_MANAGEMENT_REVERT_IGNORE(
 			"new_world_settings.plot_management.revert_on_unclaim.block_ignore",
 			"GOLD_ORE,LAPIS_ORE,LAPIS_BLOCK,GOLD_BLOCK,IRON_ORE,IRON_BLOCK,MOSSY_COBBLESTONE,TORCH,SPAWNER,DIAMOND_ORE,DIAMOND_BLOCK,ACACIA_SIGN,BIRCH_SIGN,DARK_OAK_SIGN,JUNGLE_SIGN,OAK_SIGN,SPRUCE_SIGN,ACACIA_WALL_SIGN,BIRCH_WALL_SIGN,DARK_OAK_WALL_SIGN,JUNGLE_WALL_SIGN,OAK_WALL_SIGN,SPRUCE_WALL_SIGN,GLOWSTONE,EMERALD_ORE,EMERALD_BLOCK,WITHER_SKELETON_SKULL,WITHER_SKELETON_WALL_SKULL,SHULKER_BOX,WHITE_SHULKER_BOX,ORANGE_SHULKER_BOX,MAGENTA_SHULKER_BOX,LIGHT_BLUE_SHULKER_BOX,LIGHT_GRAY_SHULKER_BOX,YELLOW_SHULKER_BOX,LIME_SHULKER_BOX,PINK_SHULKER_BOX,GRAY_SHULKER_BOX,CYAN_SHULKER_BOX,PURPLE_SHULKER_BOX,BLUE_SHULKER_BOX,BROWN_SHULKER_BOX,GREEN_SHULKER_BOX,RED_SHULKER_BOX,BLACK_SHULKER_BOX,BEACON,NETHER_GOLD_ORE,ANCIENT_DEBRIS,SOUL_TORCH,SOUL_WALL_TORCH,CRIMSON_SIGN,CRIMSON_WALL_SIGN,WARPED_SIGN,WARPED_WALL_SIGN,LODESTONE,RESPAWN_ANCHOR,NETHER_PORTAL,FURNACE,BLAST_FURNACE,SMOKER,BREWING_STAND,TNT,AIR,FIRE,NETHER_QUARTZ_ORE,ANCIENT_DEBRIS,NETHERITE_BLOCK,GILDED_BLACKSTONE,DEEPSLATE_IRON_ORE,DEEPSLATE_GOLD_ORE,DEEPSLATE_COAL_ORE,DEEPSLATE_REDSTONE_ORE,DEEPSLATE_DIAMOND_ORE,DEEPSLATE_EMERALD_ORE,DEEPSLATE_LAPIS_ORE,RAW_IRON_BLOCK,RAW_GOLD_ORE",
@@ -1151,6 +1165,23 @@ public enum ConfigNodes {
 		"",
 		"# If enabled, particles will appear around town, nation, outpost & jail spawns."
 	),
+	PLUGIN_WILD_REVERT_HEADER(
+		"plugin.wild_revert",
+		"",
+		"",
+		"# Limits on putting back exploded wilderness blocks, shared by every world."),
+	PLUGIN_WILD_REVERT_BUDGET(
+		"plugin.wild_revert.budget",
+		"2",
+		"",
+		"# How many milliseconds of each server tick can be spent putting back exploded",
+		"# wilderness blocks whose delay has passed."),
+	PLUGIN_WILD_REVERT_MAX_BLOCKS(
+		"plugin.wild_revert.max_blocks",
+		"50000",
+		"",
+		"# The most exploded wilderness blocks which can be waiting to be put back at once.",
+		"# An explosion which would go over this is not regenerated at all."),
 	PLUGIN_NAME_BLACKLIST(
 		"plugin.name_blacklist",
 		"",
@@ -0,0 +1,101 @@
+package com.palmergames.bukkit.config;
+
+import com.palmergames.util.TimeTools;
+import org.bukkit.configuration.Configuration;
+
+/**
+ * Immutable, typed copy of every {@link ConfigNodes} value.
+ *
+ * Each node is read from the configuration and parsed once, when the snapshot
+ * is compiled, and afterwards looked up by the node's ordinal. Values which do
+ * not parse as a given type are flagged so the caller can report them.
+ */
+public final class ConfigSnapshot {
+
+	private final String[] strings;
+	private final boolean[] booleans;
+	private final int[] ints;
+	private final double[] doubles;
+	private final long[] seconds;
+	private final boolean[] validInts;
+	private final boolean[] validDoubles;
+	private final boolean[] validSeconds;
+
+	private ConfigSnapshot(int size) {
+		this.strings = new String[size];
+		this.booleans = new boolean[size];
+		this.ints = new int[size];
+		this.doubles = new double[size];
+		this.seconds = new long[size];
+		this.validInts = new boolean[size];
+		this.validDoubles = new boolean[size];
+		this.validSeconds = new boolean[size];
+	}
+
+	/**
+	 * Reads and parses every node from the given configuration, missing nodes take their default.
+	 *
+	 * @param config Configuration to read.
+	 * @return ConfigSnapshot of the configuration as it is now.
+	 */
+	public static ConfigSnapshot compile(Configuration config) {
+		ConfigNodes[] nodes = ConfigNodes.values();
+		ConfigSnapshot snapshot = new ConfigSnapshot(nodes.length);
+
+		for (ConfigNodes node : nodes) {
+			int i = node.ordinal();
+			String value = config.getString(node.getRoot().toLowerCase(), node.getDefault());
+			snapshot.strings[i] = value;
+			if (value == null)
+				continue;
+
+			snapshot.booleans[i] = Boolean.parseBoolean(value);
+			String trimmed = value.trim();
+			try {
+				snapshot.ints[i] = Integer.parseInt(trimmed);
+				snapshot.validInts[i] = true;
+			} catch (NumberFormatException ignored) {}
+			try {
+				snapshot.doubles[i] = Double.parseDouble(trimmed);
+				snapshot.validDoubles[i] = true;
+			} catch (NumberFormatException ignored) {}
+			try {
+				snapshot.seconds[i] = TimeTools.getSeconds(value);
+				snapshot.validSeconds[i] = true;
+			} catch (RuntimeException ignored) {}
+		}
+		return snapshot;
+	}
+
+	public String getString(ConfigNodes node) {
+		return strings[node.ordinal()];
+	}
+
+	public boolean getBoolean(ConfigNodes node) {
+		return booleans[node.ordinal()];
+	}
+
+	public int getInt(ConfigNodes node) {
+		return ints[node.ordinal()];
+	}
+
+	public double getDouble(ConfigNodes node) {
+		return doubles[node.ordinal()];
+	}
+
+	public long getSeconds(ConfigNodes node) {
+		return seconds[node.ordinal()];
+	}
+
+	public boolean isInt(ConfigNodes node) {
+		return validInts[node.ordinal()];
+	}
+
+	public boolean isDouble(ConfigNodes node) {
+		return validDoubles[node.ordinal()];
+	}
+
+	public boolean isSeconds(ConfigNodes node) {
+		return validSeconds[node.ordinal()];
+	}
+}
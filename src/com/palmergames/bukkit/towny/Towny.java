@@ -34,8 +34,8 @@ import com.palmergames.bukkit.towny.listeners.TownyPlayerListener;
 import com.palmergames.bukkit.towny.listeners.TownyServerListener;
 import com.palmergames.bukkit.towny.listeners.TownyVehicleListener;
 import com.palmergames.bukkit.towny.listeners.TownyWorldListener;
-import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.PlayerCache;
+import com.palmergames.bukkit.towny.object.PlayerCacheIndex;
 import com.palmergames.bukkit.towny.object.Resident;
 import com.palmergames.bukkit.towny.object.TownBlockTypeHandler;
 import com.palmergames.bukkit.towny.object.Translatable;
@@ -83,11 +83,11 @@ import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 /**
@@ -116,7 +116,8 @@ public class Towny extends JavaPlugin {
 
 	private TownyUniverse townyUniverse;
 
-	private final Map<String, PlayerCache> playerCache = Collections.synchronizedMap(new HashMap<>());
+	private final Map<UUID, PlayerCache> playerCache = new ConcurrentHashMap<>();
+	private final PlayerCacheIndex playerCacheIndex = new PlayerCacheIndex();
 
 	private Essentials essentials = null;
 	private boolean citizens2 = false;
@@ -263,6 +264,7 @@ public class Towny extends JavaPlugin {
 		if (!TownySettings.getLastRunVersion().equals(getVersion())) {
 			ConfigMigrator migrator = new ConfigMigrator(TownySettings.getConfig(), "config-migration.json");
 			migrator.migrate();
+			TownySettings.compileSettings();
 		}
 
 		// Loads Town and Nation Levels after migration has occured.
@@ -424,6 +426,7 @@ public class Towny extends JavaPlugin {
 		TownyRegenAPI.cancelProtectionRegenTasks();
 
 		playerCache.clear();
+		playerCacheIndex.clear();
 		
 		try {
 			// Shut down our saving task.
@@ -613,6 +616,9 @@ public class Towny extends JavaPlugin {
 
 		toggleTimersOff();
 		TownyTimerHandler.toggleTownyRepeatingTimer(true);
+		TownyTimerHandler.togglePlotSnapshotTask(true);
+		TownyTimerHandler.togglePlotRevertTask(true);
+		TownyTimerHandler.toggleProtectionRegenTask(true);
 		TownyTimerHandler.toggleDailyTimer(true);
 		TownyTimerHandler.toggleHourlyTimer(true);
 		TownyTimerHandler.toggleShortTimer(true);
@@ -627,6 +633,9 @@ public class Towny extends JavaPlugin {
 	private void toggleTimersOff() {
 
 		TownyTimerHandler.toggleTownyRepeatingTimer(false);
+		TownyTimerHandler.togglePlotSnapshotTask(false);
+		TownyTimerHandler.togglePlotRevertTask(false);
+		TownyTimerHandler.toggleProtectionRegenTask(false);
 		TownyTimerHandler.toggleDailyTimer(false);
 		TownyTimerHandler.toggleHourlyTimer(false);
 		TownyTimerHandler.toggleShortTimer(false);
@@ -774,30 +783,59 @@ public class Towny extends JavaPlugin {
 
 	public boolean hasCache(Player player) {
 
-		return playerCache.containsKey(player.getName().toLowerCase());
+		return playerCache.containsKey(player.getUniqueId());
 	}
 
 	public PlayerCache newCache(Player player) {
 
+		PlayerCache cache = createCache(player);
+		if (cache != null) {
+			cache.setIndex(playerCacheIndex);
+			PlayerCache replaced = playerCache.put(player.getUniqueId(), cache);
+			if (replaced != null)
+				replaced.setIndex(null);
+		}
+		return cache;
+	}
+
+	private PlayerCache createCache(Player player) {
+
 		try {
-			PlayerCache cache = new PlayerCache(TownyUniverse.getInstance().getDataSource().getWorld(player.getWorld().getName()), player);
-			playerCache.put(player.getName().toLowerCase(), cache);
-			return cache;
+			return new PlayerCache(TownyUniverse.getInstance().getDataSource().getWorld(player.getWorld().getName()), player);
 		} catch (NotRegisteredException e) {
 			TownyMessaging.sendErrorMsg(player, "Could not create permission cache for this world (" + player.getWorld().getName() + ".");
 			return null;
 		}
-
 	}
 
 	public void deleteCache(Player player) {
 
-		deleteCache(player.getName());
+		deleteCache(player.getUniqueId());
 	}
 
+	/**
+	 * Deletes the cache of the player with this name, if they have one.
+	 * 
+	 * @param name - Name of the resident or player.
+	 */
 	public void deleteCache(String name) {
 
-		playerCache.remove(name.toLowerCase());
+		Resident resident = TownyUniverse.getInstance().getResident(name);
+		if (resident != null && resident.getUUID() != null) {
+			deleteCache(resident.getUUID());
+			return;
+		}
+
+		Player player = BukkitTools.getPlayerExact(name);
+		if (player != null)
+			deleteCache(player.getUniqueId());
+	}
+
+	public void deleteCache(UUID uuid) {
+
+		PlayerCache cache = playerCache.remove(uuid);
+		if (cache != null)
+			cache.setIndex(null);
 	}
 
 	/**
@@ -809,13 +847,25 @@ public class Towny extends JavaPlugin {
 	 */
 	public PlayerCache getCache(Player player) {
 
-		PlayerCache cache = playerCache.get(player.getName().toLowerCase());
+		UUID uuid = player.getUniqueId();
+		PlayerCache cache = playerCache.get(uuid);
 		
 		if (cache == null) {
-			cache = newCache(player);
-			
-			if (cache != null)
-				cache.setLastTownBlock(WorldCoord.parseWorldCoord(player));
+			cache = createCache(player);
+			if (cache == null)
+				return null;
+
+			cache.setLastTownBlock(WorldCoord.parseWorldCoord(player));
+
+			// Another thread may have made the player's cache in the meantime.
+			PlayerCache existing = playerCache.putIfAbsent(uuid, cache);
+			if (existing != null)
+				return existing;
+
+			cache.setIndex(playerCacheIndex);
+			// Don't leave a cache which was deleted in the meantime in the index.
+			if (playerCache.get(uuid) != cache)
+				cache.setIndex(null);
 		}
 
 		return cache;
@@ -838,10 +888,20 @@ public class Towny extends JavaPlugin {
 	 */
 	public void updateCache(WorldCoord worldCoord) {
 
-		for (Player player : BukkitTools.getOnlinePlayers())
-			if (player != null)
-				if (Coord.parseCoord(player).equals(worldCoord))
-					getCache(player).resetAndUpdate(worldCoord); // Automatically resets permissions.
+		for (PlayerCache cache : playerCacheIndex.getCaches(worldCoord))
+			cache.resetAndUpdate(worldCoord); // Automatically resets permissions.
+	}
+
+	/**
+	 * Resets all Online player caches if their location is one of these,
+	 * for changes covering many townblocks at once.
+	 * 
+	 * @param worldCoords - the locations to check for
+	 */
+	public void updateCaches(Collection<WorldCoord> worldCoords) {
+
+		for (WorldCoord worldCoord : worldCoords)
+			updateCache(worldCoord);
 	}
 
 	/**
@@ -4,8 +4,8 @@ import com.palmergames.bukkit.towny.command.BaseCommand;
 import com.palmergames.bukkit.towny.db.TownyDataSource;
 import com.palmergames.bukkit.towny.event.townblockstatus.NationZoneTownBlockStatusEvent;
 import com.palmergames.bukkit.towny.exceptions.KeyAlreadyRegisteredException;
-import com.palmergames.bukkit.towny.exceptions.NotRegisteredException;
 import com.palmergames.bukkit.towny.exceptions.TownyException;
+import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.Nation;
 import com.palmergames.bukkit.towny.object.Resident;
 import com.palmergames.bukkit.towny.object.ResidentList;
@@ -262,8 +262,26 @@ public class TownyAPI {
      * @return {@link List} of all online {@link Player}s in the specified {@link ResidentList}.
      */
     public List<Player> getOnlinePlayers(ResidentList owner) {
+        if (owner instanceof Town town)
+            return new ArrayList<>(town.getOnlinePlayers());
+        if (owner instanceof Nation nation)
+            return nation.getOnlinePlayers();
         return Bukkit.getOnlinePlayers().stream().filter(player -> owner.hasResident(player.getName())).collect(Collectors.toList());
     }
+
+    /**
+     * Gets the number of online {@link Player}s for a specific {@link ResidentList}, without copying them into a list.
+     * 
+     * @param owner {@link ResidentList} of which you want the number of online {@link Player}s.
+     * @return the number of online {@link Player}s in the specified {@link ResidentList}.
+     */
+    public int getOnlinePlayerCount(ResidentList owner) {
+        if (owner instanceof Town town)
+            return town.getOnlinePlayers().size();
+        if (owner instanceof Nation nation)
+            return nation.getNumOnlinePlayers();
+        return getOnlinePlayers(owner).size();
+    }
     
     /**
      * Gets all online {@link Player}s for a specific {@link Town}.
@@ -318,7 +336,8 @@ public class TownyAPI {
      * @return true if the {@link Location} is in the wilderness, false otherwise.
      */
     public boolean isWilderness(Location location) {
-        return isWilderness(WorldCoord.parseWorldCoord(location));
+        TownBlock townBlock = getTownBlock(location);
+        return townBlock == null || !townBlock.hasTown();
     }
     
     /**
@@ -343,7 +362,7 @@ public class TownyAPI {
 	 * @return true if PVP is enabled or this isn't a world with Towny enabled.
 	 */
 	public boolean isPVP(Location location) {
-		return !isTownyWorld(location.getWorld()) || CombatUtil.preventPvP(getTownyWorld(location.getWorld().getName()), getTownBlock(location));
+		return !isTownyWorld(location.getWorld()) || CombatUtil.preventPvP(getTownyWorld(location.getWorld()), getTownBlock(location));
 	}
 
     /**
@@ -353,10 +372,8 @@ public class TownyAPI {
      * @return true or false
      */
     public boolean isTownyWorld(World world) {
-    	try {
-			return townyUniverse.getDataSource().getWorld(world.getName()).isUsingTowny();
-		} catch (NotRegisteredException e) {}
-    	return false;
+    	TownyWorld townyWorld = townyUniverse.getWorld(world);
+    	return townyWorld != null && townyWorld.isUsingTowny();
     }
     
     /**
@@ -367,11 +384,7 @@ public class TownyAPI {
      */
     @Nullable
     public TownyWorld getTownyWorld(String worldName) {
-    	try {
-			return townyUniverse.getDataSource().getWorld(worldName);
-    	} catch (NotRegisteredException ignored) {
-    		return null;
-		}
+    	return townyUniverse.getWorld(worldName);
     }
     
     /**
@@ -382,7 +395,7 @@ public class TownyAPI {
      */
     @Nullable
     public TownyWorld getTownyWorld(World world) {
-    	return getTownyWorld(world.getName());
+    	return townyUniverse.getWorld(world);
     }
     
     /**
@@ -455,8 +468,12 @@ public class TownyAPI {
      */
     @Nullable
     public TownBlock getTownBlock(Location location) {
-        WorldCoord worldCoord = WorldCoord.parseWorldCoord(location);
-		return worldCoord.getTownBlockOrNull();
+    	// Resolve through the world's townblock index directly, avoiding a WorldCoord allocation.
+    	World world = location.getWorld();
+    	if (world == null)
+    		return null;
+    	TownyWorld townyWorld = townyUniverse.getWorld(world);
+		return townyWorld == null ? null : townyWorld.getTownBlockOrNull(Coord.toCell(location.getBlockX()), Coord.toCell(location.getBlockZ()));
     }
     
     /**
@@ -467,7 +484,7 @@ public class TownyAPI {
      */
     @Nullable
     public TownBlock getTownBlock(@NotNull Player player) {
-		return WorldCoord.parseWorldCoord(player.getLocation()).getTownBlockOrNull();
+		return getTownBlock(player.getLocation());
     }
     
     /** 
@@ -1014,7 +1014,7 @@ public class TownyFormatter {
 		final Translator translator = Translator.locale(locale);
 		
 		Town town;
-		boolean taxExempt = TownyPerms.getResidentPerms(resident).containsKey("towny.tax_exempt");
+		boolean taxExempt = TownyPerms.hasTownyPerm(resident, "towny.tax_exempt");
 		double plotTax = 0.0;
 		double townTax = 0.0;
 
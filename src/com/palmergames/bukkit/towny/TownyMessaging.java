@@ -157,6 +157,16 @@ public class TownyMessaging {
 		}
 	}
 
+	/**
+	 * Whether {@link #sendDebugMsg(String)} will output anything. Hot code paths
+	 * should test this before building a debug message.
+	 *
+	 * @return true if debug mode or dev mode is enabled.
+	 */
+	public static boolean isDebugging() {
+		return TownySettings.getDebug() || TownySettings.isDevMode();
+	}
+
 	/**
 	 * Sends a message to the log and console
 	 * prefixed by [Towny] Debug:
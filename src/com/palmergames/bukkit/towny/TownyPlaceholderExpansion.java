@@ -371,7 +371,7 @@ public class TownyPlaceholderExpansion extends PlaceholderExpansion implements R
 		case "town_residents_online": // %townyadvanced_town_residents_online%
 			if (resident.hasTown()) {
 				try {
-					amount = String.valueOf(TownyAPI.getInstance().getOnlinePlayers(resident.getTown()).size());
+					amount = String.valueOf(TownyAPI.getInstance().getOnlinePlayerCount(resident.getTown()));
 				} catch (NotRegisteredException ignored) {
 				}
 			}
@@ -450,7 +450,7 @@ public class TownyPlaceholderExpansion extends PlaceholderExpansion implements R
 				try {
 					if (resident.getTown().hasNation())
 						amount = String.valueOf(
-								TownyAPI.getInstance().getOnlinePlayers(resident.getTown().getNation()).size());
+								TownyAPI.getInstance().getOnlinePlayerCount(resident.getTown().getNation()));
 				} catch (NotRegisteredException ignored) {
 				}
 			}
@@ -2,6 +2,7 @@ package com.palmergames.bukkit.towny;
 
 import com.palmergames.bukkit.config.CommentedConfiguration;
 import com.palmergames.bukkit.config.ConfigNodes;
+import com.palmergames.bukkit.config.ConfigSnapshot;
 import com.palmergames.bukkit.towny.db.DatabaseConfig;
 import com.palmergames.bukkit.towny.event.NationBonusCalculationEvent;
 import com.palmergames.bukkit.towny.event.NationUpkeepCalculationEvent;
@@ -63,6 +64,7 @@ public class TownySettings {
 
 	private static CommentedConfiguration config;
 	private static CommentedConfiguration newConfig;
+	private static volatile ConfigSnapshot settings;
 	private static int uuidCount;
 
 	private static final SortedMap<Integer, Map<TownySettings.TownLevel, Object>> configTownLevel = Collections.synchronizedSortedMap(new TreeMap<>(Collections.reverseOrder()));
@@ -294,10 +296,13 @@ public class TownySettings {
 		if (!config.load()) {
 			throw new TownyInitException("Failed to load Towny's config.yml.", TownyInitException.TownyError.MAIN_CONFIG);
 		}
+		// Settings may be read while the defaults are being filled in.
+		compileSettings();
 
 		setDefaults(version, configPath);
 
 		config.save();
+		compileSettings();
 
 		loadSwitchAndItemUseMaterialsLists();
 		loadProtectedMobsList();
@@ -365,7 +370,7 @@ public class TownySettings {
 	
 	public static SpawnLevel getSpawnLevel(ConfigNodes node)
 	{
-		String configString = config.getString(node.getRoot());
+		String configString = getString(node);
 		SpawnLevel spawnLevel;
 		if (configString != null) {
 			spawnLevel = SpawnLevel.valueOf(configString.toUpperCase(Locale.ROOT));
@@ -376,7 +381,7 @@ public class TownySettings {
 	}
 	
 	public static NSpawnLevel getNSpawnLevel(ConfigNodes node) {
-		String configString = config.getString(node.getRoot());
+		String configString = getString(node);
 		NSpawnLevel level;
 		if (configString != null) {
 			level = NSpawnLevel.valueOf(configString.toUpperCase(Locale.ROOT));
@@ -386,34 +391,43 @@ public class TownySettings {
 		return level;
 	}
 
+	/**
+	 * Compiles the config into the typed snapshot read by the getters, swapping
+	 * it in atomically. Must be called again whenever the config is changed.
+	 */
+	public static void compileSettings() {
+
+		settings = ConfigSnapshot.compile(config);
+	}
+
 	public static boolean getBoolean(ConfigNodes node) {
 
-		return Boolean.parseBoolean(config.getString(node.getRoot().toLowerCase(), node.getDefault()));
+		return settings.getBoolean(node);
 	}
 
 	public static double getDouble(ConfigNodes node) {
 
-		try {
-			return Double.parseDouble(config.getString(node.getRoot().toLowerCase(), node.getDefault()).trim());
-		} catch (NumberFormatException e) {
+		ConfigSnapshot settings = TownySettings.settings;
+		if (!settings.isDouble(node)) {
 			sendError(node.getRoot().toLowerCase() + " from config.yml");
 			return 0.0;
 		}
+		return settings.getDouble(node);
 	}
 
 	public static int getInt(ConfigNodes node) {
 
-		try {
-			return Integer.parseInt(config.getString(node.getRoot().toLowerCase(), node.getDefault()).trim());
-		} catch (NumberFormatException e) {
+		ConfigSnapshot settings = TownySettings.settings;
+		if (!settings.isInt(node)) {
 			sendError(node.getRoot().toLowerCase() + " from config.yml");
 			return 0;
 		}
+		return settings.getInt(node);
 	}
 
 	public static String getString(ConfigNodes node) {
 
-		return config.getString(node.getRoot().toLowerCase(), node.getDefault());
+		return settings.getString(node);
 	}
 
 	public static String getString(String root, String def) {
@@ -447,7 +461,7 @@ public class TownySettings {
 
 	public static List<Integer> getIntArr(ConfigNodes node) {
 
-		String[] strArray = getString(node.getRoot(), node.getDefault()).split(",");
+		String[] strArray = getNonNullString(node).split(",");
 		List<Integer> list = new ArrayList<>();
 		for (String aStrArray : strArray)
 			if (aStrArray != null) {
@@ -462,7 +476,7 @@ public class TownySettings {
 
 	public static List<String> getStrArr(ConfigNodes node) {
 
-		String[] strArray = getString(node.getRoot().toLowerCase(), node.getDefault()).split(",");
+		String[] strArray = getNonNullString(node).split(",");
 		List<String> list = new ArrayList<>();
 		if (strArray.length > 0) {
 			for (String aStrArray : strArray)
@@ -474,12 +488,22 @@ public class TownySettings {
 
 	public static long getSeconds(ConfigNodes node) {
 
-		try {
-			return TimeTools.getSeconds(getString(node));
-		} catch (NumberFormatException e) {
+		ConfigSnapshot settings = TownySettings.settings;
+		if (!settings.isSeconds(node)) {
 			sendError(node.getRoot().toLowerCase() + " from config.yml");
 			return 1;
 		}
+		return settings.getSeconds(node);
+	}
+
+	private static String getNonNullString(ConfigNodes node) {
+
+		String data = getString(node);
+		if (data == null) {
+			sendError(node.getRoot().toLowerCase() + " from config.yml");
+			return "";
+		}
+		return data;
 	}
 
 	public static void addComment(String root, String... comments) {
@@ -1528,6 +1552,7 @@ public class TownySettings {
 	public static void setProperty(String root, Object value) {
 
 		config.set(root.toLowerCase(), value.toString());
+		compileSettings();
 	}
 
 	private static void setNewProperty(String root, Object value) {
@@ -1542,6 +1567,7 @@ public class TownySettings {
 	public static void setLanguage(String lang) {
 		config.set(ConfigNodes.LANGUAGE.getRoot(), lang);
 		config.save();
+		compileSettings();
 	}
 
 	public static Object getProperty(String root) {
@@ -2078,6 +2104,16 @@ public class TownySettings {
 		return getSeconds(ConfigNodes.NWS_PLOT_MANAGEMENT_REVERT_TIME);
 	}
 
+	public static int getPlotSnapshotBudget() {
+
+		return getInt(ConfigNodes.NWS_PLOT_MANAGEMENT_REVERT_SNAPSHOT_BUDGET);
+	}
+
+	public static int getPlotRevertBudget() {
+
+		return getInt(ConfigNodes.NWS_PLOT_MANAGEMENT_REVERT_BUDGET);
+	}
+
 	public static boolean isUsingPlotManagementWildEntityRegen() {
 
 		return getBoolean(ConfigNodes.NWS_PLOT_MANAGEMENT_WILD_MOB_REVERT_ENABLE);
@@ -2088,6 +2124,16 @@ public class TownySettings {
 		return getSeconds(ConfigNodes.NWS_PLOT_MANAGEMENT_WILD_MOB_REVERT_TIME);
 	}
 	
+	public static int getWildRegenBudget() {
+
+		return getInt(ConfigNodes.PLUGIN_WILD_REVERT_BUDGET);
+	}
+
+	public static int getWildRegenMaxBlocks() {
+
+		return getInt(ConfigNodes.PLUGIN_WILD_REVERT_MAX_BLOCKS);
+	}
+
 	public static boolean isUsingPlotManagementWildBlockRegen() {
 
 		return getBoolean(ConfigNodes.NWS_PLOT_MANAGEMENT_WILD_BLOCK_REVERT_ENABLE);
@@ -5,6 +5,9 @@ import com.palmergames.bukkit.towny.tasks.DrawSmokeTask;
 import com.palmergames.bukkit.towny.tasks.DrawSpawnPointsTask;
 import com.palmergames.bukkit.towny.tasks.HealthRegenTimerTask;
 import com.palmergames.bukkit.towny.tasks.MobRemovalTimerTask;
+import com.palmergames.bukkit.towny.tasks.PlotRevertTask;
+import com.palmergames.bukkit.towny.tasks.PlotSnapshotTask;
+import com.palmergames.bukkit.towny.tasks.ProtectionRegenTimerTask;
 import com.palmergames.bukkit.towny.tasks.RepeatingTimerTask;
 import com.palmergames.bukkit.towny.tasks.NewDayScheduler;
 import com.palmergames.bukkit.towny.tasks.TeleportWarmupTimerTask;
@@ -32,6 +35,10 @@ public class TownyTimerHandler{
 	}
 	
 	private static int townyRepeatingTask = -1;
+	private static int plotSnapshotTask = -1;
+	private static PlotSnapshotTask plotSnapshotTimerTask = null;
+	private static int plotRevertTask = -1;
+	private static int protectionRegenTask = -1;
 	private static int hourlyTask = -1;
 	private static int shortTask = -1;
 	private static int mobRemoveTask = -1;
@@ -62,10 +69,50 @@ public class TownyTimerHandler{
 		}
 	}
 
+	public static void togglePlotSnapshotTask(boolean on) {
+
+		if (on && !isPlotSnapshotTaskRunning()) {
+			plotSnapshotTimerTask = new PlotSnapshotTask(plugin);
+			plotSnapshotTask = BukkitTools.scheduleSyncRepeatingTask(plotSnapshotTimerTask, 0, 1);
+			if (plotSnapshotTask == -1)
+				TownyMessaging.sendErrorMsg("Could not schedule plot snapshot loop.");
+		} else if (!on && isPlotSnapshotTaskRunning()) {
+			BukkitTools.getScheduler().cancelTask(plotSnapshotTask);
+			plotSnapshotTask = -1;
+			// Save and unlock the plots which were captured but not saved yet.
+			plotSnapshotTimerTask.finish();
+			plotSnapshotTimerTask = null;
+		}
+	}
+
+	public static void togglePlotRevertTask(boolean on) {
+
+		if (on && !isPlotRevertTaskRunning()) {
+			plotRevertTask = BukkitTools.scheduleSyncRepeatingTask(new PlotRevertTask(plugin), 0, 1);
+			if (plotRevertTask == -1)
+				TownyMessaging.sendErrorMsg("Could not schedule plot revert loop.");
+		} else if (!on && isPlotRevertTaskRunning()) {
+			BukkitTools.getScheduler().cancelTask(plotRevertTask);
+			plotRevertTask = -1;
+		}
+	}
+
+	public static void toggleProtectionRegenTask(boolean on) {
+
+		if (on && !isProtectionRegenTaskRunning()) {
+			protectionRegenTask = BukkitTools.scheduleSyncRepeatingTask(new ProtectionRegenTimerTask(plugin), 0, 1);
+			if (protectionRegenTask == -1)
+				TownyMessaging.sendErrorMsg("Could not schedule wilderness regen loop.");
+		} else if (!on && isProtectionRegenTaskRunning()) {
+			BukkitTools.getScheduler().cancelTask(protectionRegenTask);
+			protectionRegenTask = -1;
+		}
+	}
+
 	public static void toggleMobRemoval(boolean on) {
 
 		if (on && !isMobRemovalRunning()) {
-			mobRemoveTask = BukkitTools.scheduleSyncRepeatingTask(new MobRemovalTimerTask(plugin, BukkitTools.getServer()), 0, TimeTools.convertToTicks(TownySettings.getMobRemovalSpeed()));
+			mobRemoveTask = BukkitTools.scheduleSyncRepeatingTask(new MobRemovalTimerTask(plugin, BukkitTools.getServer()), 0, 1);
 			if (mobRemoveTask == -1)
 				TownyMessaging.sendErrorMsg("Could not schedule mob removal loop.");
 		} else if (!on && isMobRemovalRunning()) {
@@ -148,7 +195,7 @@ public class TownyTimerHandler{
 	
 	public static void toggleDrawSmokeTask(boolean on) {
 		if (on && !isDrawSmokeTaskRunning()) {
-			drawSmokeTask = BukkitTools.scheduleAsyncRepeatingTask(new DrawSmokeTask(plugin), 0, 100);
+			drawSmokeTask = BukkitTools.scheduleSyncRepeatingTask(new DrawSmokeTask(plugin), 0, 100);
 			if (drawSmokeTask == -1)
 				TownyMessaging.sendErrorMsg("Could not schedule draw smoke loop");			
 		} else if (!on && isDrawSmokeTaskRunning()) {
@@ -174,6 +221,21 @@ public class TownyTimerHandler{
 
 	}
 
+	public static boolean isPlotSnapshotTaskRunning() {
+
+		return plotSnapshotTask != -1;
+	}
+
+	public static boolean isPlotRevertTaskRunning() {
+
+		return plotRevertTask != -1;
+	}
+
+	public static boolean isProtectionRegenTaskRunning() {
+
+		return protectionRegenTask != -1;
+	}
+
 	public static boolean isMobRemovalRunning() {
 
 		return mobRemoveTask != -1;
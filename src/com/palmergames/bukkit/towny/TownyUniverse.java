@@ -10,6 +10,7 @@ import com.palmergames.bukkit.towny.exceptions.InvalidNameException;
 import com.palmergames.bukkit.towny.exceptions.KeyAlreadyRegisteredException;
 import com.palmergames.bukkit.towny.exceptions.NotRegisteredException;
 import com.palmergames.bukkit.towny.exceptions.initialization.TownyInitException;
+import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.Nation;
 import com.palmergames.bukkit.towny.object.PlotGroup;
 import com.palmergames.bukkit.towny.object.Resident;
@@ -18,14 +19,17 @@ import com.palmergames.bukkit.towny.object.Town;
 import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.TownyWorld;
 import com.palmergames.bukkit.towny.object.WorldCoord;
+import com.palmergames.bukkit.towny.object.comparators.ComparatorCaches;
 import com.palmergames.bukkit.towny.object.jail.Jail;
 import com.palmergames.bukkit.towny.object.map.TownyMapData;
 import com.palmergames.bukkit.towny.object.metadata.CustomDataField;
 import com.palmergames.bukkit.towny.permissions.TownyPermissionSource;
+import com.palmergames.bukkit.towny.permissions.TownyPerms;
 import com.palmergames.bukkit.towny.tasks.BackupTask;
 import com.palmergames.bukkit.towny.tasks.CleanupTask;
 import com.palmergames.bukkit.util.BukkitTools;
 import com.palmergames.bukkit.util.NameValidation;
+import com.palmergames.util.LongObjectHashMap;
 import com.palmergames.util.Trie;
 import org.apache.commons.lang.Validate;
 import org.bukkit.Bukkit;
@@ -43,6 +47,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
@@ -71,11 +76,14 @@ public class TownyUniverse {
     private final Trie nationsTrie = new Trie();
     
     private final Map<String, TownyWorld> worlds = new ConcurrentHashMap<>();
+    private final Map<UUID, TownyWorld> worldsByUUID = new ConcurrentHashMap<>();
+    private final Set<UUID> unmanagedWorlds = ConcurrentHashMap.newKeySet();
     private final Map<String, CustomDataField<?>> registeredMetadata = new HashMap<>();
-	private final Map<WorldCoord, TownBlock> townBlocks = new ConcurrentHashMap<>();
 	private CompletableFuture<Void> backupFuture;
     
 	private final Map<Block, SpawnPoint> spawnPoints = new ConcurrentHashMap<>(); 
+	// The same spawn points, by world name and then by the key of the cell they are in.
+	private final Map<String, LongObjectHashMap<List<SpawnPoint>>> spawnPointCells = new ConcurrentHashMap<>();
     private final List<Resident> jailedResidents = new ArrayList<>();
     private final Map<UUID, Jail> jailUUIDMap = new ConcurrentHashMap<>();
     private final Map<UUID, Long> hibernatedResidentMap = new ConcurrentHashMap<>();
@@ -112,20 +120,24 @@ public class TownyUniverse {
      * Clears the object maps.
      */
     public void clearAllObjects() {
-    	worlds.clear();
         nationNameMap.clear();
         nationUUIDMap.clear();
         townNameMap.clear();
         townUUIDMap.clear();
         residentNameMap.clear();
         residentUUIDMap.clear();
-        townBlocks.clear();
+        for (TownyWorld world : worlds.values())
+        	world.clearTownBlocks();
         spawnPoints.clear();
+        spawnPointCells.clear();
         jailUUIDMap.clear();
         plotGroupUUIDMap.clear();
         wildernessMapDataMap.clear();
         hibernatedResidentMap.clear();
         replacementNamesMap.clear();
+        worlds.clear();
+        clearWorldResolutions();
+        ComparatorCaches.invalidate();
     }
     
     /**
@@ -611,6 +623,7 @@ public class TownyUniverse {
 		
 		townsTrie.addKey(town.getName());
 		registerTownUUID(town);
+		ComparatorCaches.townChanged(town);
 	}
 
 	/**
@@ -629,6 +642,8 @@ public class TownyUniverse {
 		}
 		
 		townsTrie.removeKey(town.getName());
+		ComparatorCaches.townChanged(town);
+		TownyPerms.removePermissionSets(town);
 		
 		if (town.getUUID() != null) {
 			if (townUUIDMap.remove(town.getUUID()) == null) {
@@ -751,6 +766,7 @@ public class TownyUniverse {
 
 		nationsTrie.addKey(nation.getName());
 		registerNationUUID(nation);
+		ComparatorCaches.nationChanged(nation);
 	}
 
 	/**
@@ -769,6 +785,8 @@ public class TownyUniverse {
 		}
 
 		nationsTrie.removeKey(nation.getName());
+		ComparatorCaches.nationChanged(nation);
+		TownyPerms.removePermissionSets(nation);
 
 		if (nation.getUUID() != null) {
 			if (nationUUIDMap.remove(nation.getUUID()) == null) {
@@ -997,6 +1015,66 @@ public class TownyUniverse {
 	 * Townblock Stuff
 	 */
 
+	/*
+	 * World Stuff
+	 */
+
+	/**
+	 * Resolves the TownyWorld of a Bukkit World by the world's UUID. Worlds which
+	 * Towny has no TownyWorld for are remembered, so that looking them up again
+	 * costs no more than a managed world.
+	 * 
+	 * @param world Bukkit World to resolve.
+	 * @return TownyWorld or null if the world is not registered.
+	 */
+	@Nullable
+	public TownyWorld getWorld(World world) {
+		UUID uuid = world.getUID();
+		TownyWorld townyWorld = worldsByUUID.get(uuid);
+		if (townyWorld != null || unmanagedWorlds.contains(uuid))
+			return townyWorld;
+
+		townyWorld = getWorld(world.getName());
+		if (townyWorld != null)
+			worldsByUUID.put(uuid, townyWorld);
+		else
+			unmanagedWorlds.add(uuid);
+		return townyWorld;
+	}
+
+	/**
+	 * Forgets how the given world was resolved, used when it is loaded or unloaded.
+	 * 
+	 * @param uuid UUID of the Bukkit World.
+	 */
+	public void clearWorldResolution(UUID uuid) {
+		worldsByUUID.remove(uuid);
+		unmanagedWorlds.remove(uuid);
+	}
+
+	/**
+	 * Forgets how every world was resolved, used when TownyWorlds are registered.
+	 */
+	public void clearWorldResolutions() {
+		worldsByUUID.clear();
+		unmanagedWorlds.clear();
+	}
+
+	/**
+	 * Gets the TownyWorld of the given name without throwing when there is none.
+	 * 
+	 * @param worldName name of the world.
+	 * @return TownyWorld or null if the world is not registered.
+	 */
+	@Nullable
+	public TownyWorld getWorld(String worldName) {
+		if (worldName == null)
+			return null;
+		// The world map is keyed by lower case names, which most world names already are.
+		TownyWorld world = worlds.get(worldName);
+		return world != null ? world : worlds.get(worldName.toLowerCase());
+	}
+
 	/**
 	 * How to get a TownBlock for now.
 	 * 
@@ -1005,32 +1083,75 @@ public class TownyUniverse {
 	 * @throws NotRegisteredException if there is no homeblock to get.
 	 */
 	public TownBlock getTownBlock(WorldCoord worldCoord) throws NotRegisteredException {
-		if (hasTownBlock(worldCoord))
-			return townBlocks.get(worldCoord);
-		else 
+		TownBlock townBlock = getTownBlockOrNull(worldCoord);
+		if (townBlock == null)
 			throw new NotRegisteredException();
+		return townBlock;
 	}
 	
 	@Nullable
 	public TownBlock getTownBlockOrNull(WorldCoord worldCoord) {
-		return townBlocks.get(worldCoord);
+		TownyWorld world = getWorld(worldCoord.getWorldName());
+		return world == null ? null : world.getTownBlockOrNull(worldCoord.getX(), worldCoord.getZ());
 	}
 
 	/**
-	 * Get Universe-wide ConcurrentHashMap of WorldCoords and their TownBlocks.
-	 * Populated at load time from townblocks folder's files.
+	 * Get a TownBlock without needing to allocate a WorldCoord.
 	 * 
+	 * @param worldName name of the world.
+	 * @param x - X int (Cell)
+	 * @param z - Z int (Cell)
+	 * @return townblock if it exists, otherwise null.
+	 */
+	@Nullable
+	public TownBlock getTownBlockOrNull(String worldName, int x, int z) {
+		TownyWorld world = getWorld(worldName);
+		return world == null ? null : world.getTownBlockOrNull(x, z);
+	}
+
+	/**
+	 * Get Universe-wide Map of WorldCoords and their TownBlocks.
 	 * 
-	 * @return townblocks hashmap read from townblock files.
-	 */	
+	 * @return new map of every townblock, built from each TownyWorld's index.
+	 * @deprecated as of 0.97.5.6, TownBlocks are indexed per TownyWorld. Use
+	 * {@link #getAllTownBlocks()}, {@link #getTownBlockCount()} or
+	 * {@link TownyWorld#getTownBlocks()} instead.
+	 */
+	@Deprecated
 	public Map<WorldCoord, TownBlock> getTownBlocks() {
-		return townBlocks;
+		Map<WorldCoord, TownBlock> out = new HashMap<>();
+		for (TownBlock townBlock : getAllTownBlocks())
+			out.put(townBlock.getWorldCoord(), townBlock);
+		return Collections.unmodifiableMap(out);
+	}
+
+	/**
+	 * Get every TownBlock from every TownyWorld.
+	 * Populated at load time from townblocks folder's files.
+	 * 
+	 * @return new list of every townblock.
+	 */
+	public List<TownBlock> getAllTownBlocks() {
+		List<TownBlock> out = new ArrayList<>(getTownBlockCount());
+		for (TownyWorld world : worlds.values())
+			world.getTownBlocks().forEach(out::add);
+		return out;
+	}
+
+	/**
+	 * @return number of TownBlocks claimed across all worlds.
+	 */
+	public int getTownBlockCount() {
+		int count = 0;
+		for (TownyWorld world : worlds.values())
+			count += world.getTownBlockCount();
+		return count;
 	}
 	
 	public void addTownBlock(TownBlock townBlock) {
-		if (hasTownBlock(townBlock.getWorldCoord()))
-			return;
-		townBlocks.put(townBlock.getWorldCoord(), townBlock);
+		TownyWorld world = townBlock.getWorld();
+		if (world != null)
+			world.addTownBlock(townBlock);
 	}
 
 	/**
@@ -1039,7 +1160,8 @@ public class TownyUniverse {
 	 * @return true if Coord is a townblock
 	 */	
 	public boolean hasTownBlock(WorldCoord worldCoord) {
-		return townBlocks.containsKey(worldCoord);
+		TownyWorld world = getWorld(worldCoord.getWorldName());
+		return world != null && world.hasTownBlock(worldCoord.getX(), worldCoord.getZ());
 	}
 
 	/**
@@ -1073,7 +1195,8 @@ public class TownyUniverse {
 	 */
 	private boolean removeTownBlock(WorldCoord worldCoord) {
 
-		return townBlocks.remove(worldCoord) != null;
+		TownyWorld world = getWorld(worldCoord.getWorldName());
+		return world != null && world.removeTownBlock(worldCoord.getX(), worldCoord.getZ()) != null;
 	}
 
 	/*
@@ -1093,12 +1216,52 @@ public class TownyUniverse {
 	}
 	
 	public void addSpawnPoint(SpawnPoint spawn) {
-		spawnPoints.put(spawn.getBukkitLocation().getBlock(), spawn);
+		SpawnPoint replaced = spawnPoints.put(spawn.getBukkitLocation().getBlock(), spawn);
+		if (replaced != null)
+			unindexSpawnPoint(replaced);
+
+		WorldCoord wc = spawn.getWorldCoord();
+		spawnPointCells.computeIfAbsent(wc.getWorldName(), k -> new LongObjectHashMap<>())
+			.compute(Coord.toKey(wc.getX(), wc.getZ()), cell -> {
+				List<SpawnPoint> out = cell == null ? new ArrayList<>(1) : new ArrayList<>(cell);
+				out.add(spawn);
+				return Collections.unmodifiableList(out);
+			});
 	}
 
 	public void removeSpawnPoint(Location loc) {
-		if (hasSpawnPoint(loc))
-			spawnPoints.remove(loc.getBlock());
+		SpawnPoint removed = spawnPoints.remove(loc.getBlock());
+		if (removed != null)
+			unindexSpawnPoint(removed);
+	}
+
+	private void unindexSpawnPoint(SpawnPoint spawn) {
+		WorldCoord wc = spawn.getWorldCoord();
+		LongObjectHashMap<List<SpawnPoint>> cells = spawnPointCells.get(wc.getWorldName());
+		if (cells == null)
+			return;
+
+		cells.compute(Coord.toKey(wc.getX(), wc.getZ()), cell -> {
+			if (cell == null)
+				return null;
+			List<SpawnPoint> out = new ArrayList<>(cell);
+			out.remove(spawn);
+			return out.isEmpty() ? null : Collections.unmodifiableList(out);
+		});
+	}
+
+	/**
+	 * Gets the spawn points in a cell without going through every spawn point.
+	 * 
+	 * @param worldName Name of the world.
+	 * @param cellX - X int (Cell)
+	 * @param cellZ - Z int (Cell)
+	 * @return an unmodifiable list of the spawn points in the cell, empty if there are none.
+	 */
+	public List<SpawnPoint> getSpawnPointsInCell(String worldName, int cellX, int cellZ) {
+		LongObjectHashMap<List<SpawnPoint>> cells = spawnPointCells.get(worldName);
+		List<SpawnPoint> cell = cells == null ? null : cells.get(Coord.toKey(cellX, cellZ));
+		return cell == null ? Collections.emptyList() : cell;
 	}
 	
     /*
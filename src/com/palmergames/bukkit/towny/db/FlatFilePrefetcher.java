@@ -0,0 +1,112 @@
+package com.palmergames.bukkit.towny.db;
+
+import com.palmergames.bukkit.towny.TownyMessaging;
+import com.palmergames.util.FileMgmt;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+/**
+ * Parse stage for loading the flatfile database.
+ *
+ * Objects are walked in chunks. While one chunk is being linked on the loading
+ * thread, the files of the next chunk are read and parsed across a
+ * {@link ForkJoinPool} into unmodifiable key/value maps. Only a couple of
+ * chunks are ever held in memory, however large the data folder is.
+ */
+public class FlatFilePrefetcher implements AutoCloseable {
+
+	private static final int CHUNK_SIZE = 1024;
+
+	private final ForkJoinPool pool;
+	private final Map<String, Map<String, String>> parsed = new ConcurrentHashMap<>();
+
+	public FlatFilePrefetcher() {
+		this.pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+	}
+
+	/**
+	 * Wraps the objects so that iterating over them reads their files ahead of the iteration.
+	 *
+	 * @param objects objects which are going to be loaded in order.
+	 * @param pathFunction gives the path of an object's file.
+	 * @param <T> type of the objects.
+	 * @return Iterable walking the objects in the same order.
+	 */
+	public <T> Iterable<T> prefetching(Collection<T> objects, Function<T, String> pathFunction) {
+		List<T> list = new ArrayList<>(objects);
+
+		return () -> new Iterator<>() {
+			private int index = 0;
+			private CompletableFuture<Void> nextChunk = parse(list, 0, pathFunction);
+
+			@Override
+			public boolean hasNext() {
+				return index < list.size();
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext())
+					throw new NoSuchElementException();
+
+				if (index % CHUNK_SIZE == 0) {
+					nextChunk.join();
+					nextChunk = parse(list, index + CHUNK_SIZE, pathFunction);
+				}
+				return list.get(index++);
+			}
+		};
+	}
+
+	private <T> CompletableFuture<Void> parse(List<T> list, int from, Function<T, String> pathFunction) {
+		if (from >= list.size())
+			return CompletableFuture.completedFuture(null);
+
+		List<String> paths = new ArrayList<>(Math.min(CHUNK_SIZE, list.size() - from));
+		for (T object : list.subList(from, Math.min(from + CHUNK_SIZE, list.size())))
+			paths.add(pathFunction.apply(object));
+
+		return CompletableFuture.runAsync(() -> paths.parallelStream().forEach(this::parse), pool);
+	}
+
+	private void parse(String path) {
+		File file = new File(path);
+		if (!file.isFile())
+			return;
+
+		try {
+			parsed.put(path, Collections.unmodifiableMap(FileMgmt.loadFileIntoHashMap(file)));
+		} catch (RuntimeException e) {
+			// Left for the loading thread to read again, which will report the error against the object.
+			TownyMessaging.sendDebugMsg("Error parsing " + path + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Gets the parsed contents of a file, reading it now if it wasn't read ahead.
+	 *
+	 * @param path path on filesystem.
+	 * @return unmodifiable Map of the file's keys and values.
+	 */
+	public Map<String, String> read(String path) {
+		Map<String, String> keys = parsed.remove(path);
+		return keys != null ? keys : Collections.unmodifiableMap(FileMgmt.loadFileIntoHashMap(new File(path)));
+	}
+
+	@Override
+	public void close() {
+		pool.shutdownNow();
+		parsed.clear();
+	}
+}
@@ -0,0 +1,115 @@
+package com.palmergames.bukkit.towny.db;
+
+import com.palmergames.bukkit.towny.TownyMessaging;
+import com.palmergames.util.FileMgmt;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Write-behind stage for the flatfile database.
+ *
+ * Saves are recorded against the file they will be written to, so an object
+ * saved many times between two flushes is only serialized and written once.
+ * Serialization happens on the thread calling {@link #flush()}, which is
+ * Towny's async database thread.
+ */
+public class FlatFileSaveQueue {
+
+	private final Map<String, Supplier<List<String>>> pending = new ConcurrentHashMap<>();
+	private final AtomicLong requested = new AtomicLong();
+	private final AtomicLong coalesced = new AtomicLong();
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	/**
+	 * Marks the file at the given path dirty, replacing any save of it which has not been flushed yet.
+	 *
+	 * @param path path on filesystem.
+	 * @param serializer supplies the lines to write, run when the queue is flushed.
+	 */
+	public void queue(String path, Supplier<List<String>> serializer) {
+		requested.incrementAndGet();
+		if (pending.put(path, serializer) != null)
+			coalesced.incrementAndGet();
+	}
+
+	/**
+	 * Drops any pending save of the file at the given path, used when the file is being deleted.
+	 *
+	 * @param path path on filesystem.
+	 */
+	public void cancel(String path) {
+		pending.remove(path);
+	}
+
+	/**
+	 * Serializes and writes every dirty file.
+	 */
+	public void flush() {
+		for (String path : pending.keySet()) {
+			Supplier<List<String>> serializer = pending.remove(path);
+			if (serializer == null)
+				continue;
+
+			List<String> list;
+			try {
+				list = serializer.get();
+			} catch (RuntimeException e) {
+				// Most likely the object was modified while being serialized, try again next flush unless it has been re-queued.
+				TownyMessaging.sendDebugMsg("Error serializing " + path + ", retrying next flush: " + e.getMessage());
+				pending.putIfAbsent(path, serializer);
+				continue;
+			}
+
+			if (FileMgmt.listToFile(list, path))
+				written.incrementAndGet();
+			else {
+				failed.incrementAndGet();
+				TownyMessaging.sendErrorMsg("Error saving to file - " + path);
+			}
+		}
+	}
+
+	public boolean isEmpty() {
+		return pending.isEmpty();
+	}
+
+	/**
+	 * @return number of saves waiting for the next flush.
+	 */
+	public int getPendingCount() {
+		return pending.size();
+	}
+
+	/**
+	 * @return number of saves requested since startup.
+	 */
+	public long getRequestedCount() {
+		return requested.get();
+	}
+
+	/**
+	 * @return number of saves which were merged into an already pending save.
+	 */
+	public long getCoalescedCount() {
+		return coalesced.get();
+	}
+
+	/**
+	 * @return number of files actually written.
+	 */
+	public long getWrittenCount() {
+		return written.get();
+	}
+
+	/**
+	 * @return number of writes which failed.
+	 */
+	public long getFailedCount() {
+		return failed.get();
+	}
+}
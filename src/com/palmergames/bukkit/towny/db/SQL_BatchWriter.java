@@ -0,0 +1,259 @@
+package com.palmergames.bukkit.towny.db;
+
+import com.palmergames.bukkit.towny.TownyMessaging;
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes queued {@link SQL_Task}s to the database in batches.
+ *
+ * Each flush borrows one connection from the pool and runs as a single
+ * transaction. Tasks sharing a table and column set are added to the same
+ * {@link PreparedStatement} batch, inserts and updates both become one
+ * {@code INSERT ... ON DUPLICATE KEY UPDATE}. The statement text is built once
+ * per table and column set and cached.
+ *
+ * Tasks are only forgotten once they have been written. If the transaction
+ * fails the tasks are written again one at a time, so that only a failing
+ * task is lost, and if no connection can be made they are kept for the next
+ * flush.
+ */
+public class SQL_BatchWriter {
+
+	private final HikariDataSource dataSource;
+	private final String tb_prefix;
+	private final Map<String, CachedStatement> statementCache = new ConcurrentHashMap<>();
+	// Tasks taken from the queue which haven't been written yet, ahead of anything still in the queue.
+	private final List<SQL_Task> unwritten = new ArrayList<>();
+
+	/**
+	 * A cached statement text and the order its parameters are bound in. Instances
+	 * are only created once per cache key, so they can be compared by identity.
+	 */
+	private record CachedStatement(String table, String sql, String[] columns) {}
+
+	/**
+	 * A statement with batched rows waiting to be executed.
+	 */
+	private static class PendingBatch {
+		private final PreparedStatement stmt;
+		private int rows = 0;
+
+		private PendingBatch(PreparedStatement stmt) {
+			this.stmt = stmt;
+		}
+	}
+
+	public SQL_BatchWriter(HikariDataSource dataSource, String tb_prefix) {
+		this.dataSource = dataSource;
+		this.tb_prefix = tb_prefix;
+	}
+
+	/**
+	 * Writes every task waiting in the queue. If no connection can be made the
+	 * tasks are kept for the next flush.
+	 *
+	 * @param queue Queue of SQL_Tasks to drain.
+	 */
+	public synchronized void flush(Queue<SQL_Task> queue) {
+		SQL_Task task;
+		while ((task = queue.poll()) != null)
+			unwritten.add(task);
+
+		if (unwritten.isEmpty())
+			return;
+
+		long start = System.currentTimeMillis();
+		int tasks = unwritten.size();
+
+		try (Connection connection = dataSource.getConnection()) {
+			try {
+				writeBatched(connection, unwritten);
+			} catch (SQLException e) {
+				TownyMessaging.sendErrorMsg("SQL: Error writing queued tasks, retrying them one at a time: " + e.getMessage());
+				try {
+					connection.rollback();
+				} catch (SQLException ignored) {}
+
+				writeOneByOne(connection, unwritten);
+			}
+		} catch (SQLException e) {
+			TownyMessaging.sendErrorMsg("SQL: Error writing queued tasks, " + unwritten.size() + " tasks will be retried: " + e.getMessage());
+			return;
+		}
+		unwritten.clear();
+
+		if (TownyMessaging.isDebugging())
+			TownyMessaging.sendDebugMsg("SQL: Wrote " + tasks + " queued tasks in " + (System.currentTimeMillis() - start) + "ms.");
+	}
+
+	/**
+	 * Writes the tasks in a single transaction, nothing is written if any of them fails.
+	 */
+	private void writeBatched(Connection connection, List<SQL_Task> tasks) throws SQLException {
+		connection.setAutoCommit(false);
+
+		// Batches are kept in the order they were opened.
+		Map<CachedStatement, PendingBatch> batches = new LinkedHashMap<>();
+		try {
+			for (SQL_Task task : tasks) {
+				CachedStatement statement = task.update ? getUpsert(task) : getDelete(task);
+
+				/*
+				 * Rows of one table must be written in the order they were queued, so a
+				 * pending batch for the same table but a different statement (ie: a delete
+				 * following an update) is executed before this task is added.
+				 */
+				for (Map.Entry<CachedStatement, PendingBatch> entry : batches.entrySet())
+					if (entry.getKey() != statement && entry.getKey().table().equals(statement.table()))
+						execute(entry.getValue(), entry.getKey());
+
+				PendingBatch batch = batches.get(statement);
+				if (batch == null) {
+					batch = new PendingBatch(connection.prepareStatement(statement.sql()));
+					batches.put(statement, batch);
+				}
+
+				bind(batch.stmt, statement.columns(), task.args);
+				batch.stmt.addBatch();
+				batch.rows++;
+			}
+
+			for (Map.Entry<CachedStatement, PendingBatch> entry : batches.entrySet())
+				execute(entry.getValue(), entry.getKey());
+
+			connection.commit();
+		} finally {
+			for (PendingBatch batch : batches.values())
+				batch.stmt.close();
+		}
+	}
+
+	/**
+	 * Writes the tasks one statement at a time. A failing task is logged and
+	 * skipped so that the rest are still written.
+	 */
+	private void writeOneByOne(Connection connection, List<SQL_Task> tasks) throws SQLException {
+		connection.setAutoCommit(true);
+
+		for (SQL_Task task : tasks) {
+			CachedStatement statement = task.update ? getUpsert(task) : getDelete(task);
+			try (PreparedStatement stmt = connection.prepareStatement(statement.sql())) {
+				bind(stmt, statement.columns(), task.args);
+				stmt.executeUpdate();
+			} catch (SQLException e) {
+				// Keep every task for the next flush if it is the connection that failed, rewriting the ones already written does no harm.
+				if (!connection.isValid(1))
+					throw e;
+				TownyMessaging.sendErrorMsg("SQL: " + e.getMessage() + " --> " + statement.sql());
+			}
+		}
+	}
+
+	/**
+	 * Executes the rows batched so far.
+	 */
+	private void execute(PendingBatch batch, CachedStatement statement) throws SQLException {
+		if (batch.rows == 0)
+			return;
+
+		try {
+			batch.stmt.executeBatch();
+		} catch (SQLException e) {
+			TownyMessaging.sendErrorMsg("SQL: " + e.getMessage() + " --> " + statement.sql());
+			throw e;
+		}
+		batch.rows = 0;
+	}
+
+	/**
+	 * Builds, or fetches from the cache, the INSERT ... ON DUPLICATE KEY UPDATE statement for this task's columns.
+	 */
+	private CachedStatement getUpsert(SQL_Task task) {
+		String[] columns = sortedColumns(task.args);
+		String table = tb_prefix + task.tb_name.toUpperCase();
+
+		return statementCache.computeIfAbsent("UPSERT:" + table + ":" + String.join(",", columns), k -> {
+			StringBuilder keycode = new StringBuilder();
+			StringBuilder valuecode = new StringBuilder();
+			StringBuilder updatecode = new StringBuilder();
+
+			for (String column : columns) {
+				if (keycode.length() > 0) {
+					keycode.append(", ");
+					valuecode.append(",");
+				}
+				keycode.append("`").append(column).append("`");
+				valuecode.append("?");
+
+				// Primary keys never need updating.
+				if (task.keys != null && task.keys.contains(column))
+					continue;
+				if (updatecode.length() > 0)
+					updatecode.append(", ");
+				updatecode.append("`").append(column).append("` = VALUES(`").append(column).append("`)");
+			}
+
+			String sql = "INSERT INTO " + table + " (" + keycode + ") VALUES (" + valuecode + ")";
+			// A table with only key columns has nothing to update, it only needs the row to exist.
+			sql += updatecode.length() > 0 ? " ON DUPLICATE KEY UPDATE " + updatecode : " ON DUPLICATE KEY UPDATE `" + columns[0] + "` = `" + columns[0] + "`";
+			return new CachedStatement(table, sql, columns);
+		});
+	}
+
+	/**
+	 * Builds, or fetches from the cache, the DELETE statement for this task's columns.
+	 */
+	private CachedStatement getDelete(SQL_Task task) {
+		String[] columns = sortedColumns(task.args);
+		String table = tb_prefix + task.tb_name.toUpperCase();
+
+		return statementCache.computeIfAbsent("DELETE:" + table + ":" + String.join(",", columns), k -> {
+			StringBuilder wherecode = new StringBuilder();
+			for (String column : columns) {
+				if (wherecode.length() > 0)
+					wherecode.append(" AND ");
+				wherecode.append("`").append(column).append("` = ?");
+			}
+			return new CachedStatement(table, "DELETE FROM " + table + " WHERE " + wherecode, columns);
+		});
+	}
+
+	private static String[] sortedColumns(HashMap<String, Object> args) {
+		String[] columns = args.keySet().toArray(new String[0]);
+		Arrays.sort(columns);
+		return columns;
+	}
+
+	private static void bind(PreparedStatement stmt, String[] columns, HashMap<String, Object> args) throws SQLException {
+		for (int count = 0; count < columns.length; count++) {
+
+			Object element = args.get(columns[count]);
+
+			if (element instanceof String) {
+
+				stmt.setString(count + 1, (String) element);
+
+			} else if (element instanceof Boolean) {
+
+				stmt.setString(count + 1, ((Boolean) element) ? "1" : "0");
+
+			} else {
+
+				stmt.setObject(count + 1, element == null ? null : element.toString());
+
+			}
+		}
+	}
+}
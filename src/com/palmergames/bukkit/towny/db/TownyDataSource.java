@@ -11,6 +11,7 @@ import com.palmergames.bukkit.towny.object.PlotGroup;
 import com.palmergames.bukkit.towny.object.Resident;
 import com.palmergames.bukkit.towny.object.Town;
 import com.palmergames.bukkit.towny.object.TownBlock;
+import com.palmergames.bukkit.towny.object.TownyObject;
 import com.palmergames.bukkit.towny.object.TownyWorld;
 import com.palmergames.bukkit.towny.object.jail.Jail;
 import com.palmergames.bukkit.towny.regen.PlotBlockData;
@@ -23,6 +24,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
 
 /*
  * --- : Loading process : ---
@@ -51,7 +53,36 @@ public abstract class TownyDataSource {
 
 	public boolean loadAll() {
 
-		return loadWorldList() && loadNationList() && loadTownList() && loadPlotGroupList() && loadJailList() && loadResidentList() && loadTownBlockList() && loadWorlds() && loadResidents() && loadTowns() && loadNations() && loadTownBlocks() && loadPlotGroups() && loadJails() && loadRegenList() && loadSnapshotList() && loadHibernatedResidents();
+		return loadPhase("lists", () -> loadWorldList() && loadNationList() && loadTownList() && loadPlotGroupList() && loadJailList() && loadResidentList() && loadTownBlockList())
+			&& loadPhase("worlds", this::loadWorlds)
+			&& loadPhase("residents", this::loadResidents)
+			&& loadPhase("towns", this::loadTowns)
+			&& loadPhase("nations", this::loadNations)
+			&& loadPhase("townblocks", this::loadTownBlocks)
+			&& loadPhase("plotgroups, jails and queues", () -> loadPlotGroups() && loadJails() && loadRegenList() && loadSnapshotList() && loadHibernatedResidents());
+	}
+
+	/**
+	 * Runs one step of {@link #loadAll()}, logging how long it took.
+	 */
+	private boolean loadPhase(String phase, BooleanSupplier loader) {
+		long start = System.currentTimeMillis();
+		boolean loaded = loader.getAsBoolean();
+		if (loaded)
+			plugin.getLogger().info("Database: Loaded " + phase + " in " + (System.currentTimeMillis() - start) + "ms.");
+		return loaded;
+	}
+
+	/**
+	 * Wraps objects which are about to be loaded one after another, letting a
+	 * source read their data ahead of the loop. By default nothing is read ahead.
+	 *
+	 * @param objects objects about to be loaded.
+	 * @param <T> type of the objects.
+	 * @return Iterable walking the objects in the same order.
+	 */
+	protected <T extends TownyObject> Iterable<T> prefetching(Collection<T> objects) {
+		return objects;
 	}
 
 	public boolean saveAll() {
@@ -165,7 +196,7 @@ public abstract class TownyDataSource {
 
 		TownySettings.setUUIDCount(0);
 		
-		for (Resident resident : universe.getResidents()) {
+		for (Resident resident : prefetching(universe.getResidents())) {
 			if (!loadResident(resident)) {
 				plugin.getLogger().severe("Loading Error: Could not read resident data '" + resident.getName() + "'.");
 				return false;
@@ -180,7 +211,7 @@ public abstract class TownyDataSource {
 	public boolean loadTowns() {
 
 		TownyMessaging.sendDebugMsg("Loading Towns");
-		for (Town town : universe.getTowns())
+		for (Town town : prefetching(universe.getTowns()))
 			if (!loadTown(town)) {
 				plugin.getLogger().severe("Loading Error: Could not read town data '" + town.getName() + "'.");
 				return false;
@@ -37,6 +37,7 @@ import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.object.metadata.DataFieldIO;
 import com.palmergames.bukkit.towny.object.jail.Jail;
 import com.palmergames.bukkit.towny.object.jail.UnJailReason;
+import com.palmergames.bukkit.towny.regen.PackedBlockList;
 import com.palmergames.bukkit.towny.regen.PlotBlockData;
 import com.palmergames.bukkit.towny.regen.TownyRegenAPI;
 import com.palmergames.bukkit.towny.tasks.DeleteFileTask;
@@ -115,12 +116,17 @@ public abstract class TownyDatabaseHandler extends TownyDataSource {
 		/*
 		 * Start our Async queue for pushing data to the flatfile database.
 		 */
-		task = BukkitTools.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-			while (!this.queryQueue.isEmpty()) {
-				Runnable operation = this.queryQueue.poll();
-				operation.run();
-			}
-		}, 5L, 5L);
+		task = BukkitTools.getScheduler().runTaskTimerAsynchronously(plugin, this::runQueue, 5L, 5L);
+	}
+
+	/**
+	 * Runs everything waiting in the queryQueue.
+	 */
+	protected synchronized void runQueue() {
+		while (!this.queryQueue.isEmpty()) {
+			Runnable operation = this.queryQueue.poll();
+			operation.run();
+		}
 	}
 	
 	@Override
@@ -130,10 +136,7 @@ public abstract class TownyDatabaseHandler extends TownyDataSource {
 		task.cancel();
 		
 		// Make sure that *all* tasks are saved before shutting down.
-		while (!queryQueue.isEmpty()) {
-			Runnable operation = this.queryQueue.poll();
-			operation.run();
-		}
+		runQueue();
 	}
 	
 	@Override
@@ -256,6 +259,7 @@ public abstract class TownyDatabaseHandler extends TownyDataSource {
 			throw new AlreadyRegisteredException("The world " + name + " is already in use.");
 
 		universe.getWorldMap().put(name.toLowerCase(), new TownyWorld(name));
+		universe.clearWorldResolutions();
 	}
 
 	/*
@@ -618,7 +622,7 @@ public abstract class TownyDatabaseHandler extends TownyDataSource {
 
 	@Override
 	public Collection<TownBlock> getAllTownBlocks() {
-		return TownyUniverse.getInstance().getTownBlocks().values();
+		return TownyUniverse.getInstance().getAllTownBlocks();
 	}
 	
 	/*
@@ -1404,6 +1408,13 @@ public abstract class TownyDatabaseHandler extends TownyDataSource {
              */
             switch (version) {
                 
+                case 5:
+                    
+                    // palette of distinct blocks followed by the packed indexes
+                    plotBlockData.setBlockList(PackedBlockList.read(fin));
+                    plotBlockData.resetBlockListRestored();
+                    return plotBlockData;
+                
                 default:
                 case 4:
                 case 3:
@@ -18,6 +18,7 @@ import com.palmergames.bukkit.towny.object.Resident;
 import com.palmergames.bukkit.towny.object.Town;
 import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.TownBlockTypeHandler;
+import com.palmergames.bukkit.towny.object.TownyObject;
 import com.palmergames.bukkit.towny.object.TownyWorld;
 import com.palmergames.bukkit.towny.object.Translation;
 import com.palmergames.bukkit.towny.object.WorldCoord;
@@ -36,6 +37,7 @@ import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -46,6 +48,8 @@ import java.util.stream.Collectors;
 public final class TownyFlatFileSource extends TownyDatabaseHandler {
 
 	private final String newLine = System.getProperty("line.separator");
+	private final FlatFileSaveQueue saveQueue = new FlatFileSaveQueue();
+	private volatile FlatFilePrefetcher prefetcher;
 	
 	public TownyFlatFileSource(Towny plugin, TownyUniverse universe) {
 		super(plugin, universe);
@@ -74,6 +78,65 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		}
 	}
 	
+	/**
+	 * Deletes run before pending saves, so that a save queued before an object
+	 * was deleted can never bring its file back.
+	 */
+	@Override
+	protected synchronized void runQueue() {
+		super.runQueue();
+		saveQueue.flush();
+	}
+
+	@Override
+	public void finishTasks() {
+		super.finishTasks();
+
+		plugin.getLogger().info(String.format("Database: %d saves requested, %d coalesced, %d files written, %d failed.",
+			saveQueue.getRequestedCount(), saveQueue.getCoalescedCount(), saveQueue.getWrittenCount(), saveQueue.getFailedCount()));
+	}
+
+	/**
+	 * @return the write-behind queue, mostly useful for its counters.
+	 */
+	public FlatFileSaveQueue getSaveQueue() {
+		return saveQueue;
+	}
+
+	@Override
+	public boolean loadAll() {
+		try (FlatFilePrefetcher prefetcher = new FlatFilePrefetcher()) {
+			this.prefetcher = prefetcher;
+			return super.loadAll();
+		} finally {
+			this.prefetcher = null;
+		}
+	}
+
+	@Override
+	protected <T extends TownyObject> Iterable<T> prefetching(Collection<T> objects) {
+		if (prefetcher == null)
+			return objects;
+
+		return prefetcher.prefetching(objects, object -> {
+			if (object instanceof Resident resident)
+				return getResidentFilename(resident);
+			if (object instanceof Town town)
+				return getTownFilename(town);
+			if (object instanceof TownBlock townBlock)
+				return getTownBlockFilename(townBlock);
+			return null;
+		});
+	}
+
+	/**
+	 * Gets the keys of a file, using the copy read ahead of time during a full load.
+	 */
+	private Map<String, String> readKeys(String path) {
+		FlatFilePrefetcher prefetcher = this.prefetcher;
+		return prefetcher != null ? prefetcher.read(path) : FileMgmt.loadFileIntoHashMap(new File(path));
+	}
+
 	public enum elements {
 		VER, NOVALUE;
 
@@ -451,7 +514,7 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		if (fileResident.exists() && fileResident.isFile()) {
 			TownyMessaging.sendDebugMsg(Translation.of("flatfile_dbg_loading_resident", resident.getName()));
 			try {
-				HashMap<String, String> keys = FileMgmt.loadFileIntoHashMap(fileResident);
+				Map<String, String> keys = readKeys(path);
 				
 				line = keys.get("lastOnline");
 				if (line != null)
@@ -594,7 +657,7 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		if (fileTown.exists() && fileTown.isFile()) {
 			TownyMessaging.sendDebugMsg(Translation.of("flatfile_dbg_loading_town", town.getName()));
 			try {
-				HashMap<String, String> keys = FileMgmt.loadFileIntoHashMap(fileTown);
+				Map<String, String> keys = readKeys(path);
 
 				line = keys.get("mayor");
 				if (line != null)
@@ -1552,14 +1615,14 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		String path;
 		
 
-		for (TownBlock townBlock : getAllTownBlocks()) {
+		for (TownBlock townBlock : prefetching(getAllTownBlocks())) {
 			path = getTownBlockFilename(townBlock);
 			
 			File fileTownBlock = new File(path);
 			if (fileTownBlock.exists() && fileTownBlock.isFile()) {
 
 				try {
-					HashMap<String, String> keys = FileMgmt.loadFileIntoHashMap(fileTownBlock);			
+					Map<String, String> keys = readKeys(path);
 
 					line = keys.get("town");
 					if (line != null) {
@@ -1797,18 +1860,19 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 	@Override
 	public boolean saveWorldList() {
 
-		List<String> list = new ArrayList<>();
-
-		for (TownyWorld world : getWorlds()) {
+		/*
+		 *  Make sure we only serialize and save in async
+		 */
+		saveQueue.queue(dataFolderPath + File.separator + "worlds.txt", () -> {
+			List<String> list = new ArrayList<>();
 
-			list.add(world.getName());
+			for (TownyWorld world : getWorlds()) {
 
-		}
+				list.add(world.getName());
 
-		/*
-		 *  Make sure we only save in async
-		 */
-		this.queryQueue.add(new FlatFileSaveTask(list, dataFolderPath + File.separator + "worlds.txt"));
+			}
+			return list;
+		});
 
 		return true;
 
@@ -1820,6 +1884,14 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 
 	@Override
 	public boolean saveResident(Resident resident) {
+		/*
+		 *  Make sure we only serialize and save in async
+		 */
+		saveQueue.queue(getResidentFilename(resident), () -> serializeResident(resident));
+		return true;
+	}
+
+	private List<String> serializeResident(Resident resident) {
 
 		List<String> list = new ArrayList<>();
 
@@ -1868,25 +1940,29 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 
 		// Metadata
 		list.add("metadata=" + serializeMetadata(resident));
-		/*
-		 *  Make sure we only save in async
-		 */
-		this.queryQueue.add(new FlatFileSaveTask(list, getResidentFilename(resident)));
-
-		return true;
-
+		return list;
 	}
 	
 	@Override
 	public boolean saveHibernatedResident(UUID uuid) {
-		List<String> list = new ArrayList<>();
-		list.add("registered=" + universe.getHibernatedResidentRegistered(uuid));
-		this.queryQueue.add(new FlatFileSaveTask(list, getHibernatedResidentFilename(uuid)));
+		saveQueue.queue(getHibernatedResidentFilename(uuid), () -> {
+			List<String> list = new ArrayList<>();
+			list.add("registered=" + universe.getHibernatedResidentRegistered(uuid));
+			return list;
+		});
 		return true;
 	}
 
 	@Override
 	public boolean saveTown(Town town) {
+		/*
+		 *  Make sure we only serialize and save in async
+		 */
+		saveQueue.queue(getTownFilename(town), () -> serializeTown(town));
+		return true;
+	}
+
+	private List<String> serializeTown(Town town) {
 
 		List<String> list = new ArrayList<>();
 
@@ -2005,17 +2081,19 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		list.add("allies=" + StringMgmt.join(town.getAlliesUUIDs(), ","));
 		list.add("enemies=" + StringMgmt.join(town.getEnemiesUUIDs(), ","));
 		
-		/*
-		 *  Make sure we only save in async
-		 */
-		this.queryQueue.add(new FlatFileSaveTask(list, getTownFilename(town)));
-
-		return true;
-
+		return list;
 	}
 	
 	@Override
 	public boolean savePlotGroup(PlotGroup group) {
+		/*
+		 *  Make sure we only serialize and save in async
+		 */
+		saveQueue.queue(getPlotGroupFilename(group), () -> serializePlotGroup(group));
+		return true;
+	}
+
+	private List<String> serializePlotGroup(PlotGroup group) {
 		
 		List<String> list = new ArrayList<>();
 		
@@ -2028,14 +2106,19 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		// Town
 		list.add("town=" + group.getTown().toString());
 		
-		// Save file
-		this.queryQueue.add(new FlatFileSaveTask(list, getPlotGroupFilename(group)));
-		
-		return true;
+		return list;
 	}
 
 	@Override
 	public boolean saveNation(Nation nation) {
+		/*
+		 *  Make sure we only serialize and save in async
+		 */
+		saveQueue.queue(getNationFilename(nation), () -> serializeNation(nation));
+		return true;
+	}
+
+	private List<String> serializeNation(Nation nation) {
 
 		List<String> list = new ArrayList<>();
 
@@ -2080,17 +2163,19 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		// Metadata
 		list.add("metadata=" + serializeMetadata(nation));
 		
+		return list;
+	}
+
+	@Override
+	public boolean saveWorld(TownyWorld world) {
 		/*
-		 *  Make sure we only save in async
+		 *  Make sure we only serialize and save in async
 		 */
-		this.queryQueue.add(new FlatFileSaveTask(list, getNationFilename(nation)));
-
+		saveQueue.queue(getWorldFilename(world), () -> serializeWorld(world));
 		return true;
-
 	}
 
-	@Override
-	public boolean saveWorld(TownyWorld world) {
+	private List<String> serializeWorld(TownyWorld world) {
 
 		List<String> list = new ArrayList<>();
 
@@ -2225,17 +2310,19 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		list.add("");
 		list.add("metadata=" + serializeMetadata(world));
 		
+		return list;
+	}
+
+	@Override
+	public boolean saveTownBlock(TownBlock townBlock) {
 		/*
-		 *  Make sure we only save in async
+		 *  Make sure we only serialize and save in async
 		 */
-		this.queryQueue.add(new FlatFileSaveTask(list, getWorldFilename(world)));
-
+		saveQueue.queue(getTownBlockFilename(townBlock), () -> serializeTownBlock(townBlock));
 		return true;
-
 	}
 
-	@Override
-	public boolean saveTownBlock(TownBlock townBlock) {
+	private List<String> serializeTownBlock(TownBlock townBlock) {
 
 		FileMgmt.checkOrCreateFolder(dataFolderPath + File.separator + "townblocks" + File.separator + townBlock.getWorld().getName());
 
@@ -2298,16 +2385,18 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		
 		list.add("customPermissionData=" + new Gson().toJson(stringMap));
 		
+		return list;
+	}
+
+	public boolean saveJail(Jail jail) {
 		/*
-		 *  Make sure we only save in async
+		 *  Make sure we only serialize and save in async
 		 */
-		this.queryQueue.add(new FlatFileSaveTask(list, getTownBlockFilename(townBlock)));
-
+		saveQueue.queue(getJailFilename(jail), () -> serializeJail(jail));
 		return true;
-
 	}
 
-	public boolean saveJail(Jail jail) {
+	private List<String> serializeJail(Jail jail) {
 		
 		List<String> list = new ArrayList<>();
 		
@@ -2323,8 +2412,7 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 		}
 		list.add(jailArray.toString());
 
-		this.queryQueue.add(new FlatFileSaveTask(list, getJailFilename(jail)));
-		return true;
+		return list;
 	}
 	
 	/*
@@ -2333,30 +2421,35 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 	
 	@Override
 	public void deleteResident(Resident resident) {
+		saveQueue.cancel(getResidentFilename(resident));
 		File file = new File(getResidentFilename(resident));
 		queryQueue.add(new DeleteFileTask(file, false));
 	}
 
 	@Override 
 	public void deleteHibernatedResident(UUID uuid) {
+		saveQueue.cancel(getHibernatedResidentFilename(uuid));
 		File file = new File(getHibernatedResidentFilename(uuid));
 		queryQueue.add(new DeleteFileTask(file, true));
 	}
 	
 	@Override
 	public void deleteTown(Town town) {
+		saveQueue.cancel(getTownFilename(town));
 		File file = new File(getTownFilename(town));
 		queryQueue.add(new DeleteFileTask(file, false));
 	}
 
 	@Override
 	public void deleteNation(Nation nation) {
+		saveQueue.cancel(getNationFilename(nation));
 		File file = new File(getNationFilename(nation));
 		queryQueue.add(new DeleteFileTask(file, false));
 	}
 
 	@Override
 	public void deleteWorld(TownyWorld world) {
+		saveQueue.cancel(getWorldFilename(world));
 		File file = new File(getWorldFilename(world));
 		queryQueue.add(new DeleteFileTask(file, false));
 	}
@@ -2364,6 +2457,7 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 	@Override
 	public void deleteTownBlock(TownBlock townBlock) {
 
+		saveQueue.cancel(getTownBlockFilename(townBlock));
 		File file = new File(getTownBlockFilename(townBlock));
 		
 		queryQueue.add(() -> {
@@ -2387,12 +2481,14 @@ public final class TownyFlatFileSource extends TownyDatabaseHandler {
 	
 	@Override
 	public void deletePlotGroup(PlotGroup group) {
+    	saveQueue.cancel(getPlotGroupFilename(group));
     	File file = new File(getPlotGroupFilename(group));
     	queryQueue.add(new DeleteFileTask(file, false));
 	}
 	
 	@Override
 	public void deleteJail(Jail jail) {
+		saveQueue.cancel(getJailFilename(jail));
 		File file = new File(getJailFilename(jail));
 		queryQueue.add(new DeleteFileTask(file, false));
 	}
@@ -72,6 +72,7 @@ public final class TownySQLSource extends TownyDatabaseHandler {
 
 	private final HikariConfig config;
 	private final HikariDataSource hikariDataSource;
+	private final SQL_BatchWriter batchWriter;
 
 	public TownySQLSource(Towny plugin, TownyUniverse universe) {
 		super(plugin, universe);
@@ -117,6 +118,7 @@ public final class TownySQLSource extends TownyDatabaseHandler {
 		config.setConnectionTimeout(TownySettings.getConnectionTimeout());
 
 		this.hikariDataSource = new HikariDataSource(config);
+		this.batchWriter = new SQL_BatchWriter(hikariDataSource, tb_prefix);
 
 		/*
 		 * Register the driver (if possible)
@@ -157,38 +159,18 @@ public final class TownySQLSource extends TownyDatabaseHandler {
 		/*
 		 * Start our Async queue for pushing data to the database.
 		 */
-		task = BukkitTools.getScheduler().runTaskTimerAsynchronously(plugin, () -> {
-
-			while (!TownySQLSource.this.queryQueue.isEmpty()) {
-
-				SQL_Task query = TownySQLSource.this.queryQueue.poll();
-
-				if (query.update) {
-					TownySQLSource.this.QueueUpdateDB(query.tb_name, query.args, query.keys);
-				} else {
-					TownySQLSource.this.QueueDeleteDB(query.tb_name, query.args);
-				}
-
-			}
-
-		}, 5L, 5L);
+		task = BukkitTools.getScheduler().runTaskTimerAsynchronously(plugin, () -> batchWriter.flush(queryQueue), 5L, 5L);
 	}
 
 	@Override
 	public void finishTasks() {
 		// Cancel the repeating task as its not needed anymore.
-		task.cancel();
+		if (task != null)
+			task.cancel();
 
 		// Make sure that *all* tasks are saved before shutting down.
-		while (!queryQueue.isEmpty()) {
-			SQL_Task query = TownySQLSource.this.queryQueue.poll();
+		batchWriter.flush(queryQueue);
 
-			if (query.update) {
-				TownySQLSource.this.QueueUpdateDB(query.tb_name, query.args, query.keys);
-			} else {
-				TownySQLSource.this.QueueDeleteDB(query.tb_name, query.args);
-			}
-		}
 		// Close the database sources on shutdown to get GC
 		hikariDataSource.close();
 	}
@@ -252,6 +234,16 @@ public final class TownySQLSource extends TownyDatabaseHandler {
 
 	}
 
+	/**
+	 * Immediately runs a single INSERT/UPDATE on the shared connection.
+	 * 
+	 * @param tb_name - Database Table name.
+	 * @param args    - Arguments.
+	 * @param keys    - Table keys.
+	 * @return true if the update was successful.
+	 * @deprecated as of 0.97.5.6, queued tasks are written in batches by {@link SQL_BatchWriter}, use {@link #UpdateDB(String, HashMap, List)}.
+	 */
+	@Deprecated
 	public boolean QueueUpdateDB(String tb_name, HashMap<String, Object> args, List<String> keys) {
 
 		/*
@@ -417,6 +409,15 @@ public final class TownySQLSource extends TownyDatabaseHandler {
 
 	}
 
+	/**
+	 * Immediately runs a single DELETE on the shared connection.
+	 * 
+	 * @param tb_name - Database Table name
+	 * @param args    - Arguments
+	 * @return true if the delete was a success.
+	 * @deprecated as of 0.97.5.6, queued tasks are written in batches by {@link SQL_BatchWriter}, use {@link #DeleteDB(String, HashMap)}.
+	 */
+	@Deprecated
 	public boolean QueueDeleteDB(String tb_name, HashMap<String, Object> args) {
 
 		if (!getContext())
@@ -1,11 +1,14 @@
 package com.palmergames.bukkit.towny.event.executors;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
+import org.bukkit.World;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.entity.Entity;
@@ -24,7 +27,9 @@ import com.palmergames.bukkit.towny.event.actions.TownyExplodingBlocksEvent;
 import com.palmergames.bukkit.towny.event.actions.TownyItemuseEvent;
 import com.palmergames.bukkit.towny.event.actions.TownySwitchEvent;
 import com.palmergames.bukkit.towny.event.damage.TownyExplosionDamagesEntityEvent;
+import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.PlayerCache;
+import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.TownyWorld;
 import com.palmergames.bukkit.towny.object.TownyPermission.ActionType;
 import com.palmergames.bukkit.towny.utils.PlayerCacheUtil;
@@ -91,37 +96,79 @@ public class TownyActionEventExecutor {
 	 * @return true if the explosion is allowed.
 	 */
 	private static boolean isAllowedExplosion(Location loc) {
-		boolean canExplode = false;
 		TownyWorld world = TownyAPI.getInstance().getTownyWorld(loc.getWorld().getName());
+		return isAllowedExplosion(world, Coord.toCell(loc.getBlockX()), Coord.toCell(loc.getBlockZ()));
+	}
+
+	/**
+	 * Towny's explosion test for a whole townblock cell.
+	 * 
+	 * @param world - TownyWorld of the cell, may be null.
+	 * @param cellX - X of the cell, in townblocks.
+	 * @param cellZ - Z of the cell, in townblocks.
+	 * @return true if the explosion is allowed.
+	 */
+	private static boolean isAllowedExplosion(TownyWorld world, int cellX, int cellZ) {
 		if (world == null)
-			canExplode = false;
-		else {
-		
-			if (TownyAPI.getInstance().isWilderness(loc)) {
-				/*
-				 * Handle occasions in the wilderness first.
-				 */
-				if (world.isForceExpl() || world.isExpl())
-					canExplode = true;
-				else if (!world.isExpl())
-					canExplode = false;			
-			} else {
-				/*
-				 * Must be inside of a town.
-				 */
-				canExplode = world.isForceExpl() || TownyAPI.getInstance().getTownBlock(loc).getPermissions().explosion;			
-			}
-		}
+			return false;
 
-		return canExplode;
+		if (world.isForceExpl())
+			return true;
+
+		TownBlock townBlock = world.getTownBlockOrNull(cellX, cellZ);
+		if (townBlock == null)
+			/*
+			 * Handle occasions in the wilderness first.
+			 */
+			return world.isExpl();
+
+		/*
+		 * Must be inside of a town.
+		 */
+		return townBlock.getPermissions().explosion;
 	}
 	
+	/**
+	 * Filters the blocks of an explosion, looking up each townblock cell the
+	 * explosion touches only once. The order of the blocks is kept.
+	 */
 	private static List<Block> filterExplodingBlockList(List<Block> blocks) {
 
-		List<Block> approvedBlocks = new ArrayList<Block>();
-		
+		List<Block> approvedBlocks = new ArrayList<Block>(blocks.size());
+		if (blocks.isEmpty())
+			return approvedBlocks;
+
+		World bukkitWorld = null;
+		TownyWorld world = null;
+		Map<Long, Boolean> cells = new HashMap<>();
+		long lastCell = 0;
+		boolean lastAllowed = false, hasLast = false;
+
 		for (Block block : blocks) {
-			if (isAllowedExplosion(block.getLocation()))
+			if (block.getWorld() != bukkitWorld) {
+				bukkitWorld = block.getWorld();
+				world = TownyAPI.getInstance().getTownyWorld(bukkitWorld.getName());
+				cells.clear();
+				hasLast = false;
+			}
+
+			int cellX = Coord.toCell(block.getX());
+			int cellZ = Coord.toCell(block.getZ());
+			long cell = Coord.toKey(cellX, cellZ);
+
+			// Neighbouring blocks are usually in the same cell, skip the map for them.
+			if (!hasLast || cell != lastCell) {
+				Boolean allowed = cells.get(cell);
+				if (allowed == null) {
+					allowed = isAllowedExplosion(world, cellX, cellZ);
+					cells.put(cell, allowed);
+				}
+				lastCell = cell;
+				lastAllowed = allowed;
+				hasLast = true;
+			}
+
+			if (lastAllowed)
 				approvedBlocks.add(block);
 		}
 		return approvedBlocks;
@@ -10,7 +10,7 @@ import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.TownyWorld;
 import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.regen.TownyRegenAPI;
-import com.palmergames.bukkit.towny.regen.block.BlockLocation;
+import com.palmergames.bukkit.towny.tasks.DrawSmokeTask;
 import com.palmergames.bukkit.towny.utils.BorderUtil;
 import com.palmergames.bukkit.util.BlockUtil;
 import com.palmergames.bukkit.util.ItemLists;
@@ -94,6 +94,19 @@ public class TownyBlockListener implements Listener {
 			testDoubleChest(event.getPlayer(), event.getBlock());
 	}
 	
+	/*
+	 * Redraw the constant plot borders at the new surface.
+	 */
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onBlockBreakMonitor(BlockBreakEvent event) {
+		DrawSmokeTask.invalidateSurface(event.getBlock());
+	}
+
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onBlockPlaceMonitor(BlockPlaceEvent event) {
+		DrawSmokeTask.invalidateSurface(event.getBlock());
+	}
+
 	@EventHandler
 	public void onBlockCanBuild(BlockCanBuildEvent event) {
 		//Temporary workaround for grass remaining snowy when powdered snow is placed on top of it.
@@ -299,7 +312,8 @@ public class TownyBlockListener implements Listener {
 		/*
 		 * Don't regenerate block explosions unless they are on the list of blocks whose explosions regenerate.
 		 */
-		if (townyWorld.isUsingPlotManagementWildBlockRevert() && townyWorld.isProtectingExplosionBlock(material)) {
+		if (townyWorld.isUsingPlotManagementWildBlockRevert() && townyWorld.isProtectingExplosionBlock(material)
+				&& TownyRegenAPI.hasRoomForProtectionRegenTasks(event.blockList().size())) {
 			int count = 0;
 			for (Block block : event.blockList()) {
 				// Only regenerate in the wilderness.
@@ -309,7 +323,7 @@ public class TownyBlockListener implements Listener {
 				if (!townyWorld.isBlockAllowedToRevert(block.getType()))
 					continue;
 				// Don't start a revert on a block that is going to be reverted.
-				if (TownyRegenAPI.hasProtectionRegenTask(new BlockLocation(block.getLocation())))
+				if (TownyRegenAPI.hasProtectionRegenTask(block))
 					continue;
 				count++;
 				TownyRegenAPI.beginProtectionRegenTask(block, count, townyWorld, event);
@@ -9,7 +9,6 @@ import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.TownBlockType;
 import com.palmergames.bukkit.towny.object.TownyWorld;
 import com.palmergames.bukkit.towny.regen.TownyRegenAPI;
-import com.palmergames.bukkit.towny.regen.block.BlockLocation;
 import com.palmergames.bukkit.towny.tasks.MobRemovalTimerTask;
 import com.palmergames.bukkit.towny.utils.CombatUtil;
 import com.palmergames.bukkit.towny.utils.EntityTypeUtil;
@@ -584,7 +583,8 @@ public class TownyEntityListener implements Listener {
 			return;
 		
 		Entity entity = event.getEntity();
-		if (townyWorld.isUsingPlotManagementWildEntityRevert() && entity != null && townyWorld.isProtectingExplosionEntity(entity)) {
+		if (townyWorld.isUsingPlotManagementWildEntityRevert() && entity != null && townyWorld.isProtectingExplosionEntity(entity)
+				&& TownyRegenAPI.hasRoomForProtectionRegenTasks(event.blockList().size())) {
 			int count = 0;
 			for (Block block : event.blockList()) {
 				// Only regenerate in the wilderness.
@@ -594,7 +594,7 @@ public class TownyEntityListener implements Listener {
 				if (!townyWorld.isBlockAllowedToRevert(block.getType()))
 					continue;
 				// Don't start a revert on a block that is going to be reverted.
-				if (TownyRegenAPI.hasProtectionRegenTask(new BlockLocation(block.getLocation())))
+				if (TownyRegenAPI.hasProtectionRegenTask(block))
 					continue;
 				count++;
 				TownyRegenAPI.beginProtectionRegenTask(block, count, townyWorld, event);
@@ -673,7 +673,7 @@ public class TownyEntityListener implements Listener {
 		// Prevent an item_frame or painting from breaking if it is attached to something which will be regenerated.
 		if (event.getCause().equals(RemoveCause.PHYSICS) && ItemLists.HANGING_ENTITIES.contains(hanging.getType().name())) {
 			Location loc = hanging.getLocation().add(hanging.getFacing().getOppositeFace().getDirection());
-			if (TownyRegenAPI.hasProtectionRegenTask(new BlockLocation(loc))) {
+			if (TownyRegenAPI.hasProtectionRegenTask(loc)) {
 				event.setCancelled(true);
 				return;
 			}
@@ -45,6 +45,7 @@ import org.bukkit.ChatColor;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.Tag;
+import org.bukkit.World;
 import org.bukkit.World.Environment;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
@@ -81,6 +82,8 @@ import org.bukkit.scheduler.BukkitRunnable;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Handle events for all Player related events
@@ -93,6 +96,26 @@ public class TownyPlayerListener implements Listener {
 
 	private final Towny plugin;
 
+	/**
+	 * What onPlayerMove remembers about a player between move events, so that
+	 * moving around inside of one cell is dealt with quickly.
+	 */
+	private static final class MoveState {
+		private World world;
+		private long cellKey;
+
+		private boolean isInCell(World world, long cellKey) {
+			return this.world == world && this.cellKey == cellKey;
+		}
+
+		private void setCell(World world, long cellKey) {
+			this.world = world;
+			this.cellKey = cellKey;
+		}
+	}
+
+	private final Map<UUID, MoveState> moveStates = new ConcurrentHashMap<>();
+
 	public TownyPlayerListener(Towny instance) {
 
 		plugin = instance;
@@ -145,6 +168,9 @@ public class TownyPlayerListener implements Listener {
 			resident.clearModes();
 			resident.save();
 
+			if (resident.hasTown())
+				resident.getTownOrNull().removeOnlinePlayer(event.getPlayer());
+
 			if (TownyTimerHandler.isTeleportWarmupRunning()) {
 				TownyAPI.getInstance().abortTeleportRequest(resident);
 			}
@@ -154,6 +180,7 @@ public class TownyPlayerListener implements Listener {
 		}
 
 		plugin.deleteCache(event.getPlayer());
+		moveStates.remove(event.getPlayer().getUniqueId());
 		TownyPerms.removeAttachment(event.getPlayer().getName());
 	}
 	
@@ -603,35 +630,47 @@ public class TownyPlayerListener implements Listener {
 			event.setCancelled(true);
 			return;
 		}
-		// Let's ignore Citizens NPCs
-		if (plugin.isCitizens2() && CitizensAPI.getNPCRegistry().isNPC(event.getPlayer())) {
-			return;
-		}
-		TownyUniverse townyUniverse = TownyUniverse.getInstance();
+
+		Location to = event.getTo();
 
 		/*
 		 * Abort if we havn't really moved
 		 */
-		if (event.getFrom().getBlockX() == event.getTo().getBlockX() && event.getFrom().getBlockZ() == event.getTo().getBlockZ() && event.getFrom().getBlockY() == event.getTo().getBlockY()) {
+		if (event.getFrom().getBlockX() == to.getBlockX() && event.getFrom().getBlockZ() == to.getBlockZ() && event.getFrom().getBlockY() == to.getBlockY()) {
 			return;
 		}
 
 		Player player = event.getPlayer();
-		Location to = event.getTo();
-		Location from;
-		PlayerCache cache = plugin.getCache(player);
-		Resident resident = townyUniverse.getResident(player.getUniqueId());
-		
-		if (resident != null
-				&& TownyTimerHandler.isTeleportWarmupRunning()	 
-				&& TownySettings.getTeleportWarmupTime() > 0
-				&& TownySettings.isMovementCancellingSpawnWarmup()
-				&& resident.getTeleportRequestTime() > 0
-				&& !townyUniverse.getPermissionSource().isTownyAdmin(player)) {
-			TeleportWarmupTimerTask.abortTeleportRequest(resident);
+		UUID uuid = player.getUniqueId();
+		MoveState state = moveStates.get(uuid);
+		if (state == null) {
+			// Let's ignore Citizens NPCs, they are never removed from moveStates so they aren't kept in it.
+			if (plugin.isCitizens2() && CitizensAPI.getNPCRegistry().isNPC(player))
+				return;
+
+			state = new MoveState();
+			moveStates.put(uuid, state);
+		}
+
+		if (TeleportWarmupTimerTask.isCancelledByMovement(uuid)) {
+			TeleportWarmupTimerTask.abortTeleportRequest(TownyUniverse.getInstance().getResident(uuid));
 			TownyMessaging.sendErrorMsg(player, Translatable.of("msg_err_teleport_cancelled"));
 		}
 
+		PlayerCache cache = plugin.getCache(player);
+		if (cache == null)
+			return;
+
+		World world = to.getWorld();
+		long cellKey = Coord.toKey(Coord.toCell(to.getBlockX()), Coord.toCell(to.getBlockZ()));
+		if (state.isInCell(world, cellKey)) {
+			// Still in the same cell, only the cached location needs updating.
+			cache.setLastLocation(to);
+			return;
+		}
+		state.setCell(world, cellKey);
+
+		Location from;
 		try {
 			from = cache.getLastLocation();
 		} catch (NullPointerException e) {
@@ -963,7 +1002,7 @@ public class TownyPlayerListener implements Listener {
 			placeholders.put("{townname}", StringMgmt.remUnderscore(TownySettings.isNotificationsTownNamesVerbose() ? town.getFormattedName() : town.getName()));
 			placeholders.put("{town_motd}", town.getBoard());
 			placeholders.put("{town_residents}", town.getNumResidents());
-			placeholders.put("{town_residents_online}", TownyAPI.getInstance().getOnlinePlayers(town).size());
+			placeholders.put("{town_residents_online}", town.getOnlinePlayers().size());
 
 			for(Map.Entry<String, Object> placeholder: placeholders.entrySet()) {
 				title = title.replace(placeholder.getKey(), placeholder.getValue().toString());
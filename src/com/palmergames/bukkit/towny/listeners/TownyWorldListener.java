@@ -26,6 +26,7 @@ import org.bukkit.event.world.PortalCreateEvent;
 import org.bukkit.event.world.StructureGrowEvent;
 import org.bukkit.event.world.WorldInitEvent;
 import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 
 public class TownyWorldListener implements Listener {
 	
@@ -41,16 +42,24 @@ public class TownyWorldListener implements Listener {
 	@EventHandler(priority = EventPriority.NORMAL)
 	public void onWorldLoad(WorldLoadEvent event) {
 
+		TownyUniverse.getInstance().clearWorldResolution(event.getWorld().getUID());
 		newWorld(event.getWorld().getName());
 	}
 
 	@EventHandler(priority = EventPriority.NORMAL)
 	public void onWorldInit(WorldInitEvent event) {
 
+		TownyUniverse.getInstance().clearWorldResolution(event.getWorld().getUID());
 		newWorld(event.getWorld().getName());
 
 	}
 
+	@EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+	public void onWorldUnload(WorldUnloadEvent event) {
+
+		TownyUniverse.getInstance().clearWorldResolution(event.getWorld().getUID());
+	}
+
 	private void newWorld(String worldName) {
 		
 		// Don't create a new world for temporary DungeonsXL instanced worlds.
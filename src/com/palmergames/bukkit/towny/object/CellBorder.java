@@ -2,6 +2,7 @@ package com.palmergames.bukkit.towny.object;
 
 import com.palmergames.bukkit.util.DrawUtil;
 import com.palmergames.bukkit.util.LocationRunnable;
+import org.bukkit.Location;
 import org.bukkit.World;
 
 import java.util.Arrays;
@@ -117,6 +118,67 @@ public class CellBorder extends WorldCoord {
 		}
 	}
 
+	/**
+	 * Same as {@link #runBorderedOnSurface(int, int, LocationRunnable)}, using
+	 * surface heights which have already been read.
+	 * 
+	 * @param surface CellSurface of this cell.
+	 * @param wallHeight Height of the walls.
+	 * @param cornerHeight Height of the corners.
+	 * @param runnable LocationRunnable to run at every block of the border.
+	 */
+	public void runBorderedOnSurface(CellSurface surface, int wallHeight, int cornerHeight, LocationRunnable runnable) {
+
+		int x = getBlockX();
+		int z = getBlockZ();
+		int w = surface.getCellSize() - 1;
+		World world = getBukkitWorld();
+
+		for (Section section : Section.values()) {
+			if (!border[section.ordinal()])
+				continue;
+
+			switch (section) {
+			case N:
+				for (int i = 0; i <= w; i++)
+					runOnColumn(world, x, surface.getHeight(Section.N, i), z + i, wallHeight, runnable);
+				break;
+			case NE:
+				runOnColumn(world, x, surface.getHeight(Section.N, 0), z, cornerHeight, runnable);
+				break;
+			case E:
+				for (int i = 0; i <= w; i++)
+					runOnColumn(world, x + i, surface.getHeight(Section.E, i), z, wallHeight, runnable);
+				break;
+			case SE:
+				runOnColumn(world, x + w, surface.getHeight(Section.S, 0), z, cornerHeight, runnable);
+				break;
+			case S:
+				for (int i = 0; i <= w; i++)
+					runOnColumn(world, x + w, surface.getHeight(Section.S, i), z + i, wallHeight, runnable);
+				break;
+			case SW:
+				runOnColumn(world, x + w, surface.getHeight(Section.S, w), z + w, cornerHeight, runnable);
+				break;
+			case W:
+				for (int i = 0; i <= w; i++)
+					runOnColumn(world, x + i, surface.getHeight(Section.W, i), z + w, wallHeight, runnable);
+				break;
+			case NW:
+				runOnColumn(world, x, surface.getHeight(Section.N, w), z + w, cornerHeight, runnable);
+				break;
+			default:
+			}
+		}
+	}
+
+	private static void runOnColumn(World world, int x, int start, int z, int height, LocationRunnable runnable) {
+
+		int end = (start + height) < world.getMaxHeight() ? (start + height - 1) : world.getMaxHeight();
+		for (int y = start; y <= end; y++)
+			runnable.run(new Location(world, x, y, z));
+	}
+
 	@Override
 	public String toString() {
 
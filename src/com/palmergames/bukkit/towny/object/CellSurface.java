@@ -0,0 +1,69 @@
+package com.palmergames.bukkit.towny.object;
+
+import org.bukkit.World;
+
+/**
+ * Surface heights along the edges of a cell, read once so that the cell's
+ * border can be drawn again without looking up the highest blocks.
+ */
+public class CellSurface {
+
+	private final int cellSize;
+	// Highest block y of each edge, one after another in the order N, E, S, W.
+	private final int[] heights;
+	private final long scannedAt;
+
+	private CellSurface(int cellSize, int[] heights) {
+		this.cellSize = cellSize;
+		this.heights = heights;
+		this.scannedAt = System.currentTimeMillis();
+	}
+
+	/**
+	 * Reads the surface heights along the edges of a cell, must be called on the main thread.
+	 *
+	 * @param world World the cell is in.
+	 * @param cellX - X int (Cell)
+	 * @param cellZ - Z int (Cell)
+	 * @return CellSurface of the cell as it is now.
+	 */
+	public static CellSurface scan(World world, int cellX, int cellZ) {
+		int size = Coord.getCellSize();
+		int w = size - 1;
+		int x = cellX * size;
+		int z = cellZ * size;
+		int[] heights = new int[size * 4];
+
+		for (int i = 0; i < size; i++) {
+			heights[i] = world.getHighestBlockYAt(x, z + i);                // N
+			heights[size + i] = world.getHighestBlockYAt(x + i, z);         // E
+			heights[size * 2 + i] = world.getHighestBlockYAt(x + w, z + i); // S
+			heights[size * 3 + i] = world.getHighestBlockYAt(x + i, z + w); // W
+		}
+		return new CellSurface(size, heights);
+	}
+
+	/**
+	 * @param edge N, E, S or W.
+	 * @param offset Distance along the edge, from its north-west end.
+	 * @return the y of the highest block at that point on the edge.
+	 */
+	public int getHeight(CellBorder.Section edge, int offset) {
+		int index = switch (edge) {
+			case N -> 0;
+			case E -> 1;
+			case S -> 2;
+			case W -> 3;
+			default -> throw new IllegalArgumentException("Not an edge: " + edge);
+		};
+		return heights[index * cellSize + offset];
+	}
+
+	public int getCellSize() {
+		return cellSize;
+	}
+
+	public long getScannedAt() {
+		return scannedAt;
+	}
+}
@@ -80,7 +80,7 @@ public class Coord {
 	 * @param value x/z integer
 	 * @return cell position
 	 */
-	protected static int toCell(int value) {
+	public static int toCell(int value) {
 		// Floor divides means that for negative values will round to the next negative value
 		// and positive value to the previous positive value.
 		return Math.floorDiv(value, getCellSize());
@@ -113,6 +113,24 @@ public class Coord {
 		return parseCoord(block.getX(), block.getZ());
 	}
 
+	/**
+	 * Packs a pair of cell coordinates into one long, for use as a primitive map key.
+	 * 
+	 * @param x - X int (Cell)
+	 * @param z - Z int (Cell)
+	 * @return x in the upper 32 bits and z in the lower 32 bits.
+	 */
+	public static long toKey(int x, int z) {
+		return ((long) x << 32) | (z & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * @return this Coord packed into a long, see {@link #toKey(int, int)}.
+	 */
+	public long getKey() {
+		return toKey(x, z);
+	}
+
 	@Override
 	public String toString() {
 
@@ -8,6 +8,7 @@ import com.palmergames.bukkit.towny.exceptions.TownyException;
 import com.palmergames.bukkit.towny.invites.Invite;
 import com.palmergames.bukkit.towny.invites.InviteHandler;
 import com.palmergames.bukkit.towny.invites.exceptions.TooManyInvitesException;
+import com.palmergames.bukkit.towny.object.comparators.ComparatorCaches;
 import com.palmergames.bukkit.towny.object.economy.AccountAuditor;
 import com.palmergames.bukkit.towny.object.economy.BankEconomyHandler;
 import com.palmergames.bukkit.towny.object.economy.BankAccount;
@@ -276,6 +277,7 @@ public abstract class Government extends TownyObject implements BankEconomyHandl
 			World world = getWorld();
 			account = new BankAccount(accountName, world, getBankCap());
 			account.setAuditor(accountAuditor);
+			account.addObserver(ComparatorCaches.getBankObserver(this));
 		}
 
 		return account;
@@ -12,6 +12,7 @@ import com.palmergames.bukkit.towny.invites.Invite;
 import com.palmergames.bukkit.towny.invites.InviteHandler;
 import com.palmergames.bukkit.towny.invites.exceptions.TooManyInvitesException;
 import com.palmergames.bukkit.towny.object.SpawnPoint.SpawnPointType;
+import com.palmergames.bukkit.towny.object.comparators.ComparatorCaches;
 import com.palmergames.bukkit.towny.object.metadata.CustomDataField;
 import com.palmergames.bukkit.towny.permissions.TownyPerms;
 import com.palmergames.bukkit.util.BukkitTools;
@@ -19,6 +20,7 @@ import com.palmergames.util.MathUtil;
 import com.palmergames.util.StringMgmt;
 import org.bukkit.Location;
 import org.bukkit.World;
+import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -174,6 +176,7 @@ public class Nation extends Government {
 
 	public void addTown(Town town) {
 		towns.add(town);
+		ComparatorCaches.nationChanged(this);
 	}
 
 	/**
@@ -336,6 +339,7 @@ public class Nation extends Government {
 	private void remove(Town town) {
 
 		towns.remove(town);
+		ComparatorCaches.nationChanged(this);
 	}
 
 	private void removeAllTowns() {
@@ -441,6 +445,28 @@ public class Nation extends Government {
 		return out;
 	}
 
+	/**
+	 * @return the residents of this nation's towns who are online.
+	 */
+	public List<Player> getOnlinePlayers() {
+
+		List<Player> out = new ArrayList<>();
+		for (Town town : getTowns())
+			out.addAll(town.getOnlinePlayers());
+		return out;
+	}
+
+	/**
+	 * @return the number of residents of this nation's towns who are online.
+	 */
+	public int getNumOnlinePlayers() {
+
+		int count = 0;
+		for (Town town : getTowns())
+			count += town.getOnlinePlayers().size();
+		return count;
+	}
+
 	@Override
 	public List<String> getTreeString(int depth) {
 
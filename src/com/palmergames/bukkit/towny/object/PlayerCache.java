@@ -6,18 +6,28 @@ import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 
-import java.util.HashMap;
+import java.util.Arrays;
 
 public class PlayerCache {
 
-	private final HashMap<Material, Boolean> buildMatPermission = new HashMap<>();
-	private final HashMap<Material, Boolean> destroyMatPermission = new HashMap<>();
-	private final HashMap<Material, Boolean> switchMatPermission = new HashMap<>();
-	private final HashMap<Material, Boolean> itemUseMatPermission = new HashMap<>();
+	/*
+	 * Cached permissions are stored as two bits per ActionType, packed into one
+	 * byte per Material and indexed by Material ordinal.
+	 */
+	private static final int UNKNOWN = 0b00;
+	private static final int ALLOWED = 0b01;
+	private static final int DENIED = 0b10;
+	private static final int STATE_MASK = 0b11;
+	private static final int MATERIAL_COUNT = Material.values().length;
+
+	private final byte[] matPermissions = new byte[MATERIAL_COUNT];
 
 	private WorldCoord lastWorldCoord;
 	private String blockErrMsg;
 	private Location lastLocation;
+	// Index this cache keeps its cell up to date in, if any, and the cell it is held under there.
+	private PlayerCacheIndex index;
+	private WorldCoord indexedWorldCoord;
 
 	//TODO: cache last entity attacked
 
@@ -39,8 +49,31 @@ public class PlayerCache {
 	 */
 	public void setLastTownBlock(WorldCoord worldCoord) {
 
+		// Moved from the cell it was indexed under rather than lastWorldCoord, which reset() clears.
+		if (index != null && !worldCoord.equals(indexedWorldCoord)) {
+			if (indexedWorldCoord != null)
+				index.remove(this, indexedWorldCoord);
+			index.add(this, worldCoord);
+			indexedWorldCoord = worldCoord;
+		}
 		this.lastWorldCoord = worldCoord;
 	}
+
+	/**
+	 * Keeps this cache in an index of caches by cell, moving it whenever its
+	 * WorldCoord changes.
+	 * 
+	 * @param index - Index to keep this cache in, or null to take it out of its current one.
+	 */
+	public void setIndex(PlayerCacheIndex index) {
+
+		if (this.index != null && indexedWorldCoord != null)
+			this.index.remove(this, indexedWorldCoord);
+		this.index = index;
+		indexedWorldCoord = index != null ? lastWorldCoord : null;
+		if (index != null && lastWorldCoord != null)
+			index.add(this, lastWorldCoord);
+	}
 	
 	/**
 	 * Reset the cache permissions and update the cache with new coordinates.
@@ -71,7 +104,7 @@ public class PlayerCache {
 	 */
 	public boolean updateCoord(WorldCoord pos) {
 
-		if (!getLastTownBlock().equals(pos)) {
+		if (!pos.equals(getLastTownBlock())) {
 			reset();
 			setLastTownBlock(pos);
 			return true;
@@ -79,100 +112,94 @@ public class PlayerCache {
 			return false;
 	}
 
+	private static int shift(ActionType action) {
+
+		return action.getIndex() << 1;
+	}
+
+	private int getState(Material material, ActionType action) {
+
+		return (matPermissions[material.ordinal()] >> shift(action)) & STATE_MASK;
+	}
+
+	/**
+	 * Checks whether the cache holds a result for an ActionType on a given Material.
+	 * 
+	 * @param material - Material to check
+	 * @param action - ActionType to check
+	 * @return true if {@link #getCachePermission(Material, ActionType)} can be answered from the cache.
+	 */
+	public boolean hasCachePermission(Material material, ActionType action) {
+
+		return getState(material, action) != UNKNOWN;
+	}
+
 	/**
 	 * Checks from cache if a certain ActionType can be performed on a given Material
 	 * 
 	 * @param material - Material to check
 	 * @param action - ActionType to check
 	 * @return true if permission to perform an ActionType based on the material is granted
-	 * @throws NullPointerException if passed an invalid or NULL ActionType
+	 * @throws NullPointerException if nothing is cached for the Material and ActionType,
+	 *         use {@link #hasCachePermission(Material, ActionType)} to test first.
 	 */
 	public boolean getCachePermission(Material material, ActionType action) throws NullPointerException {
 
-		switch (action) {
-
-		case BUILD: // BUILD
-			return getBuildPermission(material);
-
-		case DESTROY: // DESTROY
-			return getDestroyPermission(material);
-
-		case SWITCH: // SWITCH
-			return getSwitchPermission(material);
+		int state = getState(material, action);
+		if (state == UNKNOWN)
+			throw new NullPointerException();
 
-		case ITEM_USE: // ITEM_USE
-			return getItemUsePermission(material);
+		return state == ALLOWED;
+	}
 
-		default:
-			throw new NullPointerException();
+	/**
+	 * Caches the result of an ActionType on a given Material, unless a result is
+	 * already cached.
+	 * 
+	 * @param material - Material to cache for
+	 * @param action - ActionType to cache for
+	 * @param value - whether the ActionType is allowed
+	 */
+	public void setCachePermission(Material material, ActionType action, boolean value) {
 
-		}
+		if (hasCachePermission(material, action))
+			return;
 
+		matPermissions[material.ordinal()] |= (byte) ((value ? ALLOWED : DENIED) << shift(action));
 	}
 
 	public void setBuildPermission(Material material, Boolean value) {
 
-		updateMaps(buildMatPermission, material, value);
-
+		setCachePermission(material, ActionType.BUILD, value);
 	}
 	public void setDestroyPermission(Material material, Boolean value) {
 
-		updateMaps(destroyMatPermission, material, value);
+		setCachePermission(material, ActionType.DESTROY, value);
 	}
 	public void setSwitchPermission(Material material, Boolean value) {
 
-		updateMaps(switchMatPermission, material, value);
-
+		setCachePermission(material, ActionType.SWITCH, value);
 	}
 	public void setItemUsePermission(Material material, Boolean value) {
 
-		updateMaps(itemUseMatPermission, material, value);
-		
+		setCachePermission(material, ActionType.ITEM_USE, value);
 	}
 	
 	public boolean getBuildPermission(Material material) throws NullPointerException {
 
-		return getBlockPermission(buildMatPermission, material);
-
+		return getCachePermission(material, ActionType.BUILD);
 	}
 	public boolean getDestroyPermission(Material material) throws NullPointerException {
 
-		return getBlockPermission(destroyMatPermission, material);
-		
+		return getCachePermission(material, ActionType.DESTROY);
 	}
 	public boolean getSwitchPermission(Material material) throws NullPointerException {
 
-		return getBlockPermission(switchMatPermission, material);
-		
+		return getCachePermission(material, ActionType.SWITCH);
 	}
 	public Boolean getItemUsePermission(Material material) throws NullPointerException {
 
-		return getBlockPermission(itemUseMatPermission, material);
-		
-	}
-	
-	private void updateMaps(HashMap<Material, Boolean> blockMap, Material material, Boolean value) {
-		
-		if (!blockMap.containsKey(material)) {
-			/*
-			 * We have no permissions cached for this block.
-			 */			
-			blockMap.put(material, value);
-		} else {
-			/*
-			 * We have cached permissions for this block type so just push updated data.
-			 */
-			blockMap.get(material);
-		}
-	}
-	
-	private boolean getBlockPermission(HashMap<Material, Boolean> blockMap, Material material) throws NullPointerException {
-		
-		if (!blockMap.containsKey(material))
-			throw new NullPointerException();
-		
-		return blockMap.get(material);
-		
+		return getCachePermission(material, ActionType.ITEM_USE);
 	}
 
 	private void reset() {
@@ -181,11 +208,8 @@ public class PlayerCache {
 		townBlockStatus = null;
 		blockErrMsg = null;
 		
-		// Clear all maps
-		buildMatPermission.clear();
-		destroyMatPermission.clear();
-		switchMatPermission.clear();
-		itemUseMatPermission.clear();
+		// Forget all cached permissions.
+		Arrays.fill(matPermissions, (byte) 0);
 	}
 
 	public enum TownBlockStatus {
@@ -0,0 +1,59 @@
+package com.palmergames.bukkit.towny.object;
+
+import com.palmergames.util.LongObjectHashMap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The player caches by the cell they were last updated for, so that the
+ * caches a change to a townblock affects can be found without going through
+ * every online player.
+ *
+ * A cache keeps its own place in the index up to date, from the moment it is
+ * given the index with {@link PlayerCache#setIndex(PlayerCacheIndex)}.
+ */
+public class PlayerCacheIndex {
+
+	private final Map<String, LongObjectHashMap<Set<PlayerCache>>> cells = new ConcurrentHashMap<>();
+
+	void add(PlayerCache cache, WorldCoord worldCoord) {
+		cells.computeIfAbsent(worldCoord.getWorldName(), k -> new LongObjectHashMap<>())
+			.compute(Coord.toKey(worldCoord.getX(), worldCoord.getZ()), caches -> {
+				if (caches == null)
+					caches = ConcurrentHashMap.newKeySet();
+				caches.add(cache);
+				return caches;
+			});
+	}
+
+	void remove(PlayerCache cache, WorldCoord worldCoord) {
+		LongObjectHashMap<Set<PlayerCache>> worldCells = cells.get(worldCoord.getWorldName());
+		if (worldCells == null)
+			return;
+
+		worldCells.compute(Coord.toKey(worldCoord.getX(), worldCoord.getZ()), caches -> {
+			if (caches == null)
+				return null;
+			caches.remove(cache);
+			return caches.isEmpty() ? null : caches;
+		});
+	}
+
+	/**
+	 * @param worldCoord WorldCoord of the cell.
+	 * @return the caches last updated for the cell, empty if there are none.
+	 */
+	public Collection<PlayerCache> getCaches(WorldCoord worldCoord) {
+		LongObjectHashMap<Set<PlayerCache>> worldCells = cells.get(worldCoord.getWorldName());
+		Set<PlayerCache> caches = worldCells == null ? null : worldCells.get(Coord.toKey(worldCoord.getX(), worldCoord.getZ()));
+		return caches == null ? Collections.emptySet() : caches;
+	}
+
+	public void clear() {
+		cells.clear();
+	}
+}
@@ -12,6 +12,8 @@ public class SpawnPoint {
 	private final WorldCoord wc;
 	private final SpawnPointType type;
 	private final SpawnPointLocation spawnLocation;
+	// Where each particle of the ring is drawn, worked out once.
+	private final Location[] ring;
 	
 	private static final ArrayList<RingCoord> RING_PATTERN = createRing();
 	
@@ -20,6 +22,7 @@ public class SpawnPoint {
 		this.type = type;
 		this.wc = WorldCoord.parseWorldCoord(loc);
 		this.spawnLocation = new SpawnPointLocation(loc);
+		this.ring = createRingLocations(loc);
 	}
 
 	public WorldCoord getWorldCoord() {
@@ -39,21 +42,41 @@ public class SpawnPoint {
 	}
 
 	public void drawParticle() {
-		Location origin = centreLocation(location);
-		int i = 0;
-
-		for (RingCoord ringPosition : RING_PATTERN) {
-		    Location point = origin.clone().add(ringPosition.getX(), 0.0d, ringPosition.getZ());
-		    Bukkit.getScheduler().scheduleSyncDelayedTask(Towny.getPlugin(), ()-> Bukkit.getWorld(location.getWorld().getName()).spawnParticle(Particle.CRIT_MAGIC, point, 1, 0.0, 0.0, 0.0, 0.0), i*4);		    
-		    i++;
+		for (int i = 0; i < ring.length; i++) {
+			final int point = i;
+			Bukkit.getScheduler().scheduleSyncDelayedTask(Towny.getPlugin(), () -> drawRingPoint(point), i*4);
 		}
 	}
+
+	/**
+	 * Draws one particle of the ring around this spawn, must be called on the main thread.
+	 * 
+	 * @param point Which particle of the ring to draw, from 0 to {@link #getRingSize()} - 1.
+	 */
+	public void drawRingPoint(int point) {
+		Location loc = ring[point];
+		if (loc.getWorld() != null)
+			loc.getWorld().spawnParticle(Particle.CRIT_MAGIC, loc, 1, 0.0, 0.0, 0.0, 0.0);
+	}
+
+	public static int getRingSize() {
+		return RING_PATTERN.size();
+	}
 	
-	private Location centreLocation(Location loc) {
-		loc.setX(Math.floor(loc.getX()) + 0.5);
-		loc.setY(Math.floor(loc.getY()) + 0.1);
-		loc.setZ(Math.floor(loc.getZ()) + 0.5);
-		return loc;
+	private static Location centreLocation(Location loc) {
+		Location centre = loc.clone();
+		centre.setX(Math.floor(loc.getX()) + 0.5);
+		centre.setY(Math.floor(loc.getY()) + 0.1);
+		centre.setZ(Math.floor(loc.getZ()) + 0.5);
+		return centre;
+	}
+
+	private static Location[] createRingLocations(Location loc) {
+		Location origin = centreLocation(loc);
+		Location[] ring = new Location[RING_PATTERN.size()];
+		for (int i = 0; i < ring.length; i++)
+			ring[i] = origin.clone().add(RING_PATTERN.get(i).getX(), 0.0d, RING_PATTERN.get(i).getZ());
+		return ring;
 	}
 	
 	private static ArrayList<RingCoord> createRing() {
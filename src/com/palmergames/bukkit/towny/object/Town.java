@@ -21,6 +21,7 @@ import com.palmergames.bukkit.towny.exceptions.EmptyTownException;
 import com.palmergames.bukkit.towny.exceptions.NotRegisteredException;
 import com.palmergames.bukkit.towny.exceptions.TownyException;
 import com.palmergames.bukkit.towny.object.SpawnPoint.SpawnPointType;
+import com.palmergames.bukkit.towny.object.comparators.ComparatorCaches;
 import com.palmergames.bukkit.towny.object.jail.Jail;
 import com.palmergames.bukkit.towny.object.metadata.CustomDataField;
 import com.palmergames.bukkit.towny.permissions.TownyPerms;
@@ -55,6 +56,7 @@ public class Town extends Government implements TownBlockOwner {
 	private static final String ECONOMY_ACCOUNT_PREFIX = TownySettings.getTownAccountPrefix();
 
 	private final List<Resident> residents = new ArrayList<>();
+	private final Map<UUID, Player> onlinePlayers = new ConcurrentHashMap<>();
 	private final List<Resident> outlaws = new ArrayList<>();
 	private Map<UUID, Town> allies = new LinkedHashMap<>();
 	private Map<UUID, Town> enemies = new LinkedHashMap<>();
@@ -133,6 +135,7 @@ public class Town extends Government implements TownBlockOwner {
 			townBlocks.put(townBlock.getWorldCoord(), townBlock);
 			if (townBlocks.size() < 2 && !hasHomeBlock())
 				setHomeBlock(townBlock);
+			ComparatorCaches.townChanged(this);
 		}
 	}
 	
@@ -346,6 +349,42 @@ public class Town extends Government implements TownBlockOwner {
 
 	void addResident(Resident resident) {
 		residents.add(resident);
+
+		Player player = resident.hasUUID() ? BukkitTools.getPlayer(resident.getUUID()) : null;
+		if (player != null)
+			onlinePlayers.put(player.getUniqueId(), player);
+		ComparatorCaches.townChanged(this);
+	}
+
+	/**
+	 * Marks a resident of this town as online, called when they log in.
+	 * 
+	 * @param player Player who logged in.
+	 */
+	public void addOnlinePlayer(Player player) {
+		// The login task runs a tick after joining, by which time the player may already have quit.
+		if (!player.isOnline())
+			return;
+
+		if (onlinePlayers.put(player.getUniqueId(), player) == null)
+			ComparatorCaches.townChanged(this);
+	}
+
+	/**
+	 * Marks a resident of this town as offline, called when they log out.
+	 * 
+	 * @param player Player who logged out.
+	 */
+	public void removeOnlinePlayer(Player player) {
+		if (onlinePlayers.remove(player.getUniqueId()) != null)
+			ComparatorCaches.townChanged(this);
+	}
+
+	/**
+	 * @return an unmodifiable view of the residents of this town who are online.
+	 */
+	public Collection<Player> getOnlinePlayers() {
+		return Collections.unmodifiableCollection(onlinePlayers.values());
 	}
 
 	public void addResidentCheck(Resident resident) throws AlreadyRegisteredException {
@@ -598,11 +637,14 @@ public class Town extends Government implements TownBlockOwner {
 	 */
 	public void setHomeBlock(@Nullable TownBlock homeBlock) {
 
+		invalidateHomeBlock(this.homeBlock);
 		this.homeBlock = homeBlock;
 		
 		if (homeBlock == null)
 			return;
 
+		invalidateHomeBlock(homeBlock);
+
 		// Set the world if it has not been set yet, or if if has changed. 
 		if (world == null || !getHomeblockWorld().getName().equals(homeBlock.getWorld().getName()))
 			setWorld(homeBlock.getWorld());
@@ -647,6 +689,8 @@ public class Town extends Government implements TownBlockOwner {
 	 */
 	public void forceSetHomeBlock(TownBlock homeBlock) throws TownyException {
 
+		invalidateHomeBlock(this.homeBlock);
+
 		if (homeBlock == null) {
 			this.homeBlock = null;
 			TownyMessaging.sendErrorMsg("town.forceSetHomeblock() is returning null.");
@@ -654,6 +698,7 @@ public class Town extends Government implements TownBlockOwner {
 		}
 
 		this.homeBlock = homeBlock;
+		invalidateHomeBlock(homeBlock);
 
 		// Set the world as it may have changed
 		if (this.world != homeBlock.getWorld())
@@ -661,6 +706,11 @@ public class Town extends Government implements TownBlockOwner {
 
 	}
 
+	private static void invalidateHomeBlock(@Nullable TownBlock homeBlock) {
+		if (homeBlock != null && homeBlock.getWorld() != null)
+			homeBlock.getWorld().invalidateHomeBlocks();
+	}
+
 	public TownBlock getHomeBlock() throws TownyException {
 
 		if (hasHomeBlock())
@@ -748,6 +798,9 @@ public class Town extends Government implements TownBlockOwner {
 		}
 		// Remove resident.
 		residents.remove(resident);
+		if (resident.hasUUID())
+			onlinePlayers.remove(resident.getUUID());
+		ComparatorCaches.townChanged(this);
 	}
 	
 	/** 
@@ -861,6 +914,7 @@ public class Town extends Government implements TownBlockOwner {
 			}
 
 			townBlocks.remove(townBlock.getWorldCoord());
+			ComparatorCaches.townChanged(this);
 			this.save();
 		}
 	}
@@ -0,0 +1,163 @@
+package com.palmergames.bukkit.towny.object;
+
+import com.palmergames.util.LongObjectHashMap;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Spatial index of TownBlocks, bucketed into square regions of
+ * {@value #REGION_SIZE}x{@value #REGION_SIZE} townblocks.
+ *
+ * Nearest-neighbour queries search the regions in rings around the queried
+ * coordinate and stop as soon as no unsearched ring can hold anything closer,
+ * so a query only looks at the claims near it instead of every claim in the
+ * world. Safe to modify from the async claim thread while being queried.
+ */
+public class TownBlockGrid {
+
+	private static final int REGION_SHIFT = 4;
+	private static final int REGION_SIZE = 1 << REGION_SHIFT;
+
+	private final LongObjectHashMap<Set<TownBlock>> regions = new LongObjectHashMap<>();
+
+	// Bounds of every region which has ever held a TownBlock, only ever grow until cleared.
+	private volatile int minRegionX = Integer.MAX_VALUE;
+	private volatile int maxRegionX = Integer.MIN_VALUE;
+	private volatile int minRegionZ = Integer.MAX_VALUE;
+	private volatile int maxRegionZ = Integer.MIN_VALUE;
+
+	public void add(TownBlock townBlock) {
+		int regionX = townBlock.getX() >> REGION_SHIFT;
+		int regionZ = townBlock.getZ() >> REGION_SHIFT;
+		long key = Coord.toKey(regionX, regionZ);
+
+		Set<TownBlock> region = regions.get(key);
+		if (region == null) {
+			synchronized (this) {
+				region = regions.get(key);
+				if (region == null) {
+					region = ConcurrentHashMap.newKeySet();
+					regions.put(key, region);
+					minRegionX = Math.min(minRegionX, regionX);
+					maxRegionX = Math.max(maxRegionX, regionX);
+					minRegionZ = Math.min(minRegionZ, regionZ);
+					maxRegionZ = Math.max(maxRegionZ, regionZ);
+				}
+			}
+		}
+		region.add(townBlock);
+	}
+
+	public void remove(TownBlock townBlock) {
+		// Emptied regions are left in place, they are cheap and the townblocks are likely to be reclaimed.
+		Set<TownBlock> region = regions.get(Coord.toKey(townBlock.getX() >> REGION_SHIFT, townBlock.getZ() >> REGION_SHIFT));
+		if (region != null)
+			region.remove(townBlock);
+	}
+
+	public synchronized void clear() {
+		regions.clear();
+		minRegionX = Integer.MAX_VALUE;
+		maxRegionX = Integer.MIN_VALUE;
+		minRegionZ = Integer.MAX_VALUE;
+		maxRegionZ = Integer.MIN_VALUE;
+	}
+
+	/**
+	 * Finds the TownBlock closest to the given cell coordinates.
+	 *
+	 * @param x - X int (Cell)
+	 * @param z - Z int (Cell)
+	 * @param filter Predicate the returned TownBlock has to pass.
+	 * @return the closest TownBlock passing the filter, or null if there is none.
+	 */
+	@Nullable
+	public TownBlock nearest(int x, int z, Predicate<TownBlock> filter) {
+		Nearest nearest = new Nearest(x, z, filter);
+		int regionX = x >> REGION_SHIFT;
+		int regionZ = z >> REGION_SHIFT;
+
+		// Beyond this ring there are no regions at all.
+		int lastRing = Math.max(Math.max(regionX - minRegionX, maxRegionX - regionX), Math.max(regionZ - minRegionZ, maxRegionZ - regionZ));
+		if (lastRing < 0)
+			return null;
+
+		// Searching ring after ring of empty regions costs more than looking at every region once.
+		long budget = 4L * regions.size() + 8;
+
+		for (int ring = 0; ring <= lastRing; ring++) {
+			// The closest any cell of this ring can be, the queried cell lies somewhere inside the centre region.
+			long bound = ring == 0 ? 0 : (long) (ring - 1) * REGION_SIZE + 1;
+			if (nearest.best != null && bound * bound > nearest.bestSqr)
+				break;
+
+			if (ring == 0) {
+				nearest.search(regions.get(Coord.toKey(regionX, regionZ)));
+				continue;
+			}
+
+			budget -= 8L * ring;
+			if (budget < 0) {
+				regions.forEachValue(nearest::search);
+				break;
+			}
+
+			for (int i = -ring; i <= ring; i++) {
+				nearest.search(regions.get(Coord.toKey(regionX + i, regionZ - ring)));
+				nearest.search(regions.get(Coord.toKey(regionX + i, regionZ + ring)));
+			}
+			for (int i = -ring + 1; i < ring; i++) {
+				nearest.search(regions.get(Coord.toKey(regionX - ring, regionZ + i)));
+				nearest.search(regions.get(Coord.toKey(regionX + ring, regionZ + i)));
+			}
+		}
+
+		return nearest.best;
+	}
+
+	/**
+	 * @param townBlock TownBlock to measure to.
+	 * @param x - X int (Cell)
+	 * @param z - Z int (Cell)
+	 * @return the distance, in townblocks, rounded up, between the townblock and the coordinates.
+	 */
+	public static int distance(TownBlock townBlock, int x, int z) {
+		return (int) Math.ceil(Math.sqrt(distanceSquared(townBlock, x, z)));
+	}
+
+	private static long distanceSquared(TownBlock townBlock, int x, int z) {
+		long dx = (long) townBlock.getX() - x;
+		long dz = (long) townBlock.getZ() - z;
+		return dx * dx + dz * dz;
+	}
+
+	private static class Nearest {
+		private final int x;
+		private final int z;
+		private final Predicate<TownBlock> filter;
+		private TownBlock best;
+		private long bestSqr = Long.MAX_VALUE;
+
+		private Nearest(int x, int z, Predicate<TownBlock> filter) {
+			this.x = x;
+			this.z = z;
+			this.filter = filter;
+		}
+
+		private void search(@Nullable Set<TownBlock> region) {
+			if (region == null)
+				return;
+
+			for (TownBlock townBlock : region) {
+				long distSqr = distanceSquared(townBlock, x, z);
+				if (distSqr < bestSqr && filter.test(townBlock)) {
+					bestSqr = distSqr;
+					best = townBlock;
+				}
+			}
+		}
+	}
+}
@@ -1,6 +1,5 @@
 package com.palmergames.bukkit.towny.object;
 
-import com.palmergames.bukkit.towny.TownyAPI;
 import java.util.Comparator;
 
 public class TownComparators {
@@ -23,6 +22,6 @@ public class TownComparators {
 	public static final Comparator<Town> BY_NAME = Comparator.comparing(TownyObject::getName);
 	public static final Comparator<Town> BY_BANK_BALANCE = (t1, t2) -> Double.compare(t2.getAccount().getHoldingBalance(), t1.getAccount().getHoldingBalance());
 	public static final Comparator<Town> BY_TOWNBLOCKS_CLAIMED = (t1, t2) -> Double.compare(t2.getTownBlocks().size(), t1.getTownBlocks().size());
-	public static final Comparator<Town> BY_NUM_ONLINE = (t1, t2) -> TownyAPI.getInstance().getOnlinePlayers(t2).size() - TownyAPI.getInstance().getOnlinePlayers(t1).size();
+	public static final Comparator<Town> BY_NUM_ONLINE = (t1, t2) -> t2.getOnlinePlayers().size() - t1.getOnlinePlayers().size();
 	
 }
@@ -3,10 +3,9 @@ package com.palmergames.bukkit.towny.object;
 import com.palmergames.bukkit.towny.TownySettings;
 import com.palmergames.bukkit.towny.TownyUniverse;
 import com.palmergames.bukkit.towny.exceptions.NotRegisteredException;
-import com.palmergames.bukkit.towny.exceptions.TownyException;
 import com.palmergames.bukkit.towny.object.TownyPermission.ActionType;
 import com.palmergames.bukkit.towny.object.metadata.CustomDataField;
-import com.palmergames.util.MathUtil;
+import com.palmergames.util.LongObjectHashMap;
 
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -23,6 +22,10 @@ import java.util.Map;
 public class TownyWorld extends TownyObject {
 
 	private HashMap<String, Town> towns = new HashMap<>();
+	private final LongObjectHashMap<TownBlock> townBlocks = new LongObjectHashMap<>();
+	private final TownBlockGrid townBlockGrid = new TownBlockGrid();
+	// Homeblocks change rarely, so their grid is rebuilt on the next query after one changes.
+	private volatile TownBlockGrid homeBlockGrid = null;
 
 	private boolean isUsingPlotManagementDelete = TownySettings.isUsingPlotManagementDelete();
 	private List<String> plotManagementDeleteIds = null;
@@ -94,24 +97,82 @@ public class TownyWorld extends TownyObject {
 
 	public void addTown(Town town) {
 
-		if (!hasTown(town))
+		if (!hasTown(town)) {
 			towns.put(town.getName(), town);
+			invalidateHomeBlocks();
+		}
 	}
 
 	public TownBlock getTownBlock(Coord coord) throws NotRegisteredException {
-		if (!hasTownBlock(coord))
-			throw new NotRegisteredException();
-		return TownyUniverse.getInstance().getTownBlock(new WorldCoord(this.getName(), coord));
+		return getTownBlock(coord.getX(), coord.getZ());
 	}
 
 	public boolean hasTownBlock(Coord key) {
 
-		return TownyUniverse.getInstance().hasTownBlock(new WorldCoord(this.getName(), key));
+		return hasTownBlock(key.getX(), key.getZ());
+	}
+
+	public boolean hasTownBlock(int x, int z) {
+
+		return townBlocks.containsKey(Coord.toKey(x, z));
 	}
 
 	public TownBlock getTownBlock(int x, int z) throws NotRegisteredException {
 
-		return getTownBlock(new Coord(x, z));
+		TownBlock townBlock = getTownBlockOrNull(x, z);
+		if (townBlock == null)
+			throw new NotRegisteredException();
+		return townBlock;
+	}
+
+	/**
+	 * Resolves the TownBlock at the given cell coordinates without allocating anything.
+	 * 
+	 * @param x - X int (Cell)
+	 * @param z - Z int (Cell)
+	 * @return TownBlock at the coordinates or null if this is wilderness.
+	 */
+	@Nullable
+	public TownBlock getTownBlockOrNull(int x, int z) {
+
+		return townBlocks.get(Coord.toKey(x, z));
+	}
+
+	/**
+	 * Registers the TownBlock in this world's index. Used internally by
+	 * {@link TownyUniverse#addTownBlock(TownBlock)}, which should be used instead.
+	 * 
+	 * @param townBlock TownBlock to index.
+	 * @return false if a TownBlock was already indexed at the same coordinates.
+	 */
+	public boolean addTownBlock(TownBlock townBlock) {
+
+		if (townBlocks.putIfAbsent(Coord.toKey(townBlock.getX(), townBlock.getZ()), townBlock) != null)
+			return false;
+
+		townBlockGrid.add(townBlock);
+		return true;
+	}
+
+	/**
+	 * Removes the TownBlock at the given cell coordinates from this world's index.
+	 * 
+	 * @param x - X int (Cell)
+	 * @param z - Z int (Cell)
+	 * @return the TownBlock removed, or null if there was none.
+	 */
+	@Nullable
+	public TownBlock removeTownBlock(int x, int z) {
+
+		TownBlock townBlock = townBlocks.remove(Coord.toKey(x, z));
+		if (townBlock != null)
+			townBlockGrid.remove(townBlock);
+		return townBlock;
+	}
+
+	public int getTownBlockCount() {
+
+		return townBlocks.size();
 	}
 
 	public List<TownBlock> getTownBlocks(Town town) {
@@ -123,16 +184,46 @@ public class TownyWorld extends TownyObject {
 		return out;
 	}
 
-	/*
-	 * Used only in the getTreeString() method.
+	/**
+	 * @return a snapshot of every TownBlock claimed in this world.
 	 */
 	public Collection<TownBlock> getTownBlocks() {
 
-		List<TownBlock> townBlocks = new ArrayList<>();
-		for (TownBlock townBlock : TownyUniverse.getInstance().getTownBlocks().values())
-			if (townBlock.getWorld() == this)
-				townBlocks.add(townBlock);
-		return townBlocks;
+		return townBlocks.values();
+	}
+
+	/**
+	 * Clears this world's TownBlock index.
+	 */
+	public void clearTownBlocks() {
+
+		townBlocks.clear();
+		townBlockGrid.clear();
+		invalidateHomeBlocks();
+	}
+
+	/**
+	 * Marks the homeblocks of this world as changed, called when a town in this
+	 * world sets a new homeblock.
+	 */
+	public void invalidateHomeBlocks() {
+
+		homeBlockGrid = null;
+	}
+
+	private TownBlockGrid getHomeBlockGrid() {
+
+		TownBlockGrid grid = homeBlockGrid;
+		if (grid == null) {
+			grid = new TownBlockGrid();
+			for (Town town : getTowns().values()) {
+				TownBlock homeBlock = town.getHomeBlockOrNull();
+				if (homeBlock != null && homeBlock.getWorld() == this)
+					grid.add(homeBlock);
+			}
+			homeBlockGrid = grid;
+		}
+		return grid;
 	}
 
 	public void removeTown(Town town) throws NotRegisteredException {
@@ -141,6 +232,7 @@ public class TownyWorld extends TownyObject {
 			throw new NotRegisteredException();
 		else {
 			towns.remove(town.getName());
+			invalidateHomeBlocks();
 			/*
 			 * try {
 			 * town.setWorld(null);
@@ -155,7 +247,7 @@ public class TownyWorld extends TownyObject {
 
 		List<String> out = new ArrayList<>();
 		out.add(getTreeDepth(depth) + "World (" + getName() + ")");
-		out.add(getTreeDepth(depth + 1) + "TownBlocks (" + getTownBlocks().size() + "): " /*
+		out.add(getTreeDepth(depth + 1) + "TownBlocks (" + getTownBlockCount() + "): " /*
 																						 * +
 																						 * getTownBlocks
 																						 * (
@@ -670,30 +762,16 @@ public class TownyWorld extends TownyObject {
 	 * @return the closest distance to another towns homeblock.
 	 */
 	public int getMinDistanceFromOtherTowns(Coord key, Town homeTown) {
-		double minSqr = -1;
 		final int keyX = key.getX();
 		final int keyZ = key.getZ();
-		
-		for (Town town : getTowns().values()) {
-			try {
-				Coord townCoord = town.getHomeBlock().getCoord();
-				if (homeTown != null)
-					// If the townblock either: the town is the same as homeTown OR
-					// both towns are in the same nation (and this is set to ignore distance in the config,) skip over the proximity filter.
-					if (homeTown.getUUID().equals(town.getUUID())
-						|| (TownySettings.isMinDistanceIgnoringTownsInSameNation() && homeTown.hasNation() && town.hasNation() && town.getNationOrNull().equals(homeTown.getNationOrNull()))
-						|| (TownySettings.isMinDistanceIgnoringTownsInAlliedNation() && homeTown.isAlliedWith(town)))
-						continue;
-				
-				if (!town.getHomeblockWorld().equals(this)) continue;
-				
-				final double distSqr = MathUtil.distanceSquared((double) townCoord.getX() - keyX, (double) townCoord.getZ() - keyZ);
-				if (minSqr == -1 || distSqr < minSqr)
-					minSqr = distSqr;
-			} catch (TownyException e) {
-			}
-		}
-		return minSqr == -1 ? Integer.MAX_VALUE : (int) Math.ceil(Math.sqrt(minSqr));
+
+		TownBlock homeBlock = getHomeBlockGrid().nearest(keyX, keyZ, b -> {
+			Town town = b.getTownOrNull();
+			// Skip homeblocks which have been moved or unclaimed since the grid was built.
+			return town != null && town.getHomeBlockOrNull() == b && hasTown(town) && getTownBlockOrNull(b.getX(), b.getZ()) == b
+				&& !isIgnoredForMinDistance(homeTown, town);
+		});
+		return homeBlock == null ? Integer.MAX_VALUE : TownBlockGrid.distance(homeBlock, keyX, keyZ);
 	}
 
 	/**
@@ -717,31 +795,25 @@ public class TownyWorld extends TownyObject {
 	public int getMinDistanceFromOtherTownsPlots(Coord key, Town homeTown) {
 		final int keyX = key.getX();
 		final int keyZ = key.getZ();
-		
-		double minSqr = -1;
-		for (Town town : getTowns().values()) {
-			if (homeTown != null)
-				// If the townblock either: the town is the same as homeTown OR 
-				// both towns are in the same nation (and this is set to ignore distance in the config,) skip over the proximity filter.
-				if (homeTown.getUUID().equals(town.getUUID())
-					|| (TownySettings.isMinDistanceIgnoringTownsInSameNation() && homeTown.hasNation() && town.hasNation() && town.getNationOrNull().equals(homeTown.getNationOrNull()))
-					|| (TownySettings.isMinDistanceIgnoringTownsInAlliedNation() && homeTown.isAlliedWith(town)))
-					continue;
-			for (TownBlock b : town.getTownBlocks()) {
-				if (!b.getWorld().equals(this)) continue;
-
-				final int tbX = b.getX();
-				final int tbZ = b.getZ();
-				
-				if (keyX == tbX && keyZ == tbZ)
-					continue;
-				
-				final double distSqr = MathUtil.distanceSquared((double) tbX - keyX, (double) tbZ - keyZ);
-				if (minSqr == -1 || distSqr < minSqr)
-					minSqr = distSqr;
-			}
-		}
-		return minSqr == -1 ? Integer.MAX_VALUE : (int) Math.ceil(Math.sqrt(minSqr));
+
+		TownBlock townBlock = townBlockGrid.nearest(keyX, keyZ, b -> {
+			if (b.getX() == keyX && b.getZ() == keyZ)
+				return false;
+			Town town = b.getTownOrNull();
+			return town != null && !isIgnoredForMinDistance(homeTown, town);
+		});
+		return townBlock == null ? Integer.MAX_VALUE : TownBlockGrid.distance(townBlock, keyX, keyZ);
+	}
+
+	/**
+	 * If the town either: is the same as homeTown OR both towns are in the same nation
+	 * (and this is set to ignore distance in the config,) skip over the proximity filter.
+	 */
+	private static boolean isIgnoredForMinDistance(@Nullable Town homeTown, Town town) {
+		return homeTown != null
+			&& (homeTown.getUUID().equals(town.getUUID())
+			|| (TownySettings.isMinDistanceIgnoringTownsInSameNation() && homeTown.hasNation() && town.hasNation() && town.getNationOrNull().equals(homeTown.getNationOrNull()))
+			|| (TownySettings.isMinDistanceIgnoringTownsInAlliedNation() && homeTown.isAlliedWith(town)));
 	}
 	
 	
@@ -756,22 +828,9 @@ public class TownyWorld extends TownyObject {
 	public int getMinDistanceFromOtherPlotsOwnedByTown(Coord key, Town town) {
 		final int keyX = key.getX();
 		final int keyZ = key.getZ();
-		
-		double minSqr = -1;
-		for (TownBlock b : town.getTownBlocks()) {
-			if (!b.getWorld().equals(this)) continue;
-
-			final int tbX = b.getX();
-			final int tbZ = b.getZ();
-			
-			if (keyX == tbX && keyZ == tbZ)
-				continue;
-			
-			final double distSqr = MathUtil.distanceSquared((double) tbX - keyX, (double) tbZ - keyZ);
-			if (minSqr == -1 || distSqr < minSqr)
-				minSqr = distSqr;
-		}
-		return minSqr == -1 ? Integer.MAX_VALUE : (int) Math.ceil(Math.sqrt(minSqr));
+
+		TownBlock townBlock = townBlockGrid.nearest(keyX, keyZ, b -> (b.getX() != keyX || b.getZ() != keyZ) && b.getTownOrNull() == town);
+		return townBlock == null ? Integer.MAX_VALUE : TownBlockGrid.distance(townBlock, keyX, keyZ);
 	}
 	
 	/**
@@ -782,26 +841,8 @@ public class TownyWorld extends TownyObject {
 	 * @return the nearest town belonging to a nation.   
 	 */
 	public Town getClosestTownWithNationFromCoord(Coord key, Town nearestTown) {
-		final int keyX = key.getX();
-		final int keyZ = key.getZ();
-		
-		double minSqr = -1;
-		for (Town town : getTowns().values()) {
-			if (!town.hasNation()) continue;
-			for (TownBlock b : town.getTownBlocks()) {
-				if (!b.getWorld().equals(this)) continue;
-				
-				final int tbX = b.getX();
-				final int tbZ = b.getZ();
-				
-				double distSqr = MathUtil.distanceSquared((double) tbX - keyX, (double) tbZ - keyZ);
-				if (minSqr == -1 || distSqr < minSqr) {
-					minSqr = distSqr;
-					nearestTown = town;
-				}						
-			}		
-		}		
-		return (nearestTown);		
+		TownBlock townBlock = getClosestTownblockWithNationFromCoord(key);
+		return townBlock == null ? nearestTown : townBlock.getTownOrNull();
 	}
 
 	/**
@@ -814,31 +855,11 @@ public class TownyWorld extends TownyObject {
 	 */
 	@Nullable
 	public TownBlock getClosestTownblockWithNationFromCoord(Coord key) {
-		final int keyX = key.getX();
-		final int keyZ = key.getZ();
-		
-		double minSqr = -1;
-		TownBlock tb = null;
-		
-		for (Town town : getTowns().values()) {
-			if (!town.hasNation())
-				continue;
-			for (TownBlock b : town.getTownBlocks()) {
-				if (!b.getWorld().equals(this))
-					continue;
-
-				final int tbX = b.getX();
-				final int tbZ = b.getZ();
-				
-				double distSqr = MathUtil.distanceSquared((double) tbX - keyX, (double) tbZ - keyZ);
-				if (minSqr == -1 || distSqr < minSqr) {
-					minSqr = distSqr;
-					tb = b;
-				}
-			}
-		}
-		
-		return tb;
+
+		return townBlockGrid.nearest(key.getX(), key.getZ(), b -> {
+			Town town = b.getTownOrNull();
+			return town != null && town.hasNation();
+		});
 	}
 
 	@Override
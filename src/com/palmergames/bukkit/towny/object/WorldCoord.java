@@ -122,8 +122,6 @@ public class WorldCoord extends Coord {
 	 * @throws NotRegisteredException If there is no TownBlock at this WorldCoord.
 	 */
 	public TownBlock getTownBlock() throws NotRegisteredException {
-		if (!hasTownBlock())
-			throw new NotRegisteredException();
 		return TownyUniverse.getInstance().getTownBlock(this);
 	}
 	
@@ -156,9 +154,8 @@ public class WorldCoord extends Coord {
 	 */
 	@Nullable
 	public Town getTownOrNull() {
-		if (hasTownBlock())
-			return getTownBlockOrNull().getTownOrNull();
-		return null;
+		TownBlock townBlock = getTownBlockOrNull();
+		return townBlock != null ? townBlock.getTownOrNull() : null;
 	}
 	
 	/**
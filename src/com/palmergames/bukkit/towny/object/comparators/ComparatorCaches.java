@@ -1,18 +1,13 @@
 package com.palmergames.bukkit.towny.object.comparators;
 
-import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.CacheLoader;
-import com.google.common.cache.LoadingCache;
-import com.palmergames.bukkit.towny.TownyAPI;
 import com.palmergames.bukkit.towny.TownyEconomyHandler;
 import com.palmergames.bukkit.towny.TownyFormatter;
 import com.palmergames.bukkit.towny.TownyUniverse;
@@ -21,9 +16,12 @@ import com.palmergames.bukkit.towny.event.nation.NationListDisplayedNumOnlinePla
 import com.palmergames.bukkit.towny.event.nation.NationListDisplayedNumResidentsCalculationEvent;
 import com.palmergames.bukkit.towny.event.nation.NationListDisplayedNumTownBlocksCalculationEvent;
 import com.palmergames.bukkit.towny.event.nation.NationListDisplayedNumTownsCalculationEvent;
+import com.palmergames.bukkit.towny.object.Government;
 import com.palmergames.bukkit.towny.object.Nation;
 import com.palmergames.bukkit.towny.object.Town;
 import com.palmergames.bukkit.towny.object.Translation;
+import com.palmergames.bukkit.towny.object.economy.Account;
+import com.palmergames.bukkit.towny.object.economy.AccountObserver;
 import com.palmergames.bukkit.util.Colors;
 import com.palmergames.util.StringMgmt;
 
@@ -35,152 +33,186 @@ import net.kyori.adventure.text.format.NamedTextColor;
 
 public class ComparatorCaches {
 	
-	private static LoadingCache<ComparatorType, List<TextComponent>> townCompCache = CacheBuilder.newBuilder()
-			.expireAfterWrite(10, TimeUnit.MINUTES)
-			.build(new CacheLoader<ComparatorType, List<TextComponent>>() {
-				public List<TextComponent> load(ComparatorType compType) throws Exception {
-					return gatherTownLines(compType);
-				}
-			});
+	private static final Map<ComparatorType, Ranking<Town>> townRankings = new EnumMap<>(ComparatorType.class);
+	private static final Map<ComparatorType, Ranking<Nation>> nationRankings = new EnumMap<>(ComparatorType.class);
 	
-	private static LoadingCache<ComparatorType, List<TextComponent>> nationCompCache = CacheBuilder.newBuilder()
-			.expireAfterWrite(10, TimeUnit.MINUTES)
-			.build(new CacheLoader<ComparatorType, List<TextComponent>>() {
-				public List<TextComponent> load(ComparatorType compType) throws Exception {
-					return gatherNationLines(compType);
-				}
-			}); 
-	
-	public static List<TextComponent> getTownListCache(ComparatorType compType) {
-		try {
-			return townCompCache.get(compType);
-		} catch (ExecutionException e) {
-			e.printStackTrace();
-			return new ArrayList<>();
+	static {
+		for (ComparatorType compType : ComparatorType.values()) {
+			townRankings.put(compType, new Ranking<>(getComparator(compType), town -> formatTownLine(town, compType)));
+			nationRankings.put(compType, new Ranking<>(getComparator(compType), nation -> formatNationLine(nation, compType)));
 		}
 	}
 	
-	public static List<TextComponent> getNationListCache(ComparatorType compType) {
-		try {
-			return nationCompCache.get(compType);
-		} catch (ExecutionException e) {
-			e.printStackTrace();
-			return new ArrayList<>();
-		}
+	@SuppressWarnings("unchecked")
+	private static <T extends Government> Comparator<? super T> getComparator(ComparatorType compType) {
+		return (Comparator<? super T>) compType.getComparator();
 	}
 	
-	@SuppressWarnings("unchecked")
-	private static List<TextComponent> gatherTownLines(ComparatorType compType) {
-		List<TextComponent> output = new ArrayList<>();
-		List<Town> towns = new ArrayList<>(TownyUniverse.getInstance().getTowns());
-		towns.sort((Comparator<? super Town>) compType.getComparator());
-		
-		for (Town town : towns) {
-			TextComponent townName = Component.text(Colors.LightBlue + StringMgmt.remUnderscore(town.getName()))
-					.clickEvent(ClickEvent.runCommand("/towny:town spawn " + town + " -ignore"));
-				
-			String slug = "";
-			switch (compType) {
-			case BALANCE:
-				slug = Colors.LightBlue + "(" + TownyEconomyHandler.getFormattedBalance(town.getAccount().getCachedBalance()) + ")";
-				break;
-			case TOWNBLOCKS:
-				slug = Colors.LightBlue + "(" + town.getTownBlocks().size() + ")";
-				break;
-			case RUINED:
-				slug = Colors.LightBlue + "(" + town.getResidents().size() + ") " + (town.isRuined() ? Translation.of("msg_ruined"):"");
-				break;
-			case BANKRUPT:
-				slug = Colors.LightBlue + "(" + town.getResidents().size() + ") " + (town.isBankrupt() ? Translation.of("msg_bankrupt"):"");
-				break;
-			case ONLINE:
-				slug = Colors.LightBlue + "(" + TownyAPI.getInstance().getOnlinePlayersInTown(town).size() + ")";
-				break;
-			case FOUNDED:
-				if (town.getRegistered() != 0)
-					slug = Colors.LightBlue + "(" + TownyFormatter.registeredFormat.format(town.getRegistered()) + ")";
-				break;
-			default:
-				slug = Colors.LightBlue + "(" + town.getResidents().size() + ")";
-				break;
-			}
-			townName = townName.append(Component.text(Colors.Gray + " - " + slug));
-			
-			if (town.isOpen())
-				townName = townName.append(Component.text(" " + Colors.LightBlue + Translation.of("status_title_open")));
-			
-			String spawnCost = "Free";
-			if (TownyEconomyHandler.isActive())
-				spawnCost = ChatColor.RESET + Translation.of("msg_spawn_cost", TownyEconomyHandler.getFormattedBalance(town.getSpawnCost()));
-
-			townName = townName.hoverEvent(HoverEvent.showText(Component.text(Translation.of("msg_click_spawn", town) + "\n" + spawnCost).color(NamedTextColor.GOLD)));
-			output.add(townName);
-		}
-		return output;
+	public static List<TextComponent> getTownListCache(ComparatorType compType) {
+		Ranking<Town> ranking = townRankings.get(compType);
+		TownyUniverse universe = TownyUniverse.getInstance();
+		return ranking.lines(ranking.update(universe::getTowns, town -> town.getUUID() != null && universe.getTown(town.getUUID()) == town));
 	}
 	
-	@SuppressWarnings("unchecked")
-	private static List<TextComponent> gatherNationLines(ComparatorType compType) {
-		List<TextComponent> output = new ArrayList<>();
-		List<Nation> nations = new ArrayList<>(TownyUniverse.getInstance().getNations());
+	public static List<TextComponent> getNationListCache(ComparatorType compType) {
+		Ranking<Nation> ranking = nationRankings.get(compType);
+		TownyUniverse universe = TownyUniverse.getInstance();
+		List<Nation> nations = ranking.update(universe::getNations, nation -> nation.getUUID() != null && universe.getNation(nation.getUUID()) == nation);
 
-		//Sort nations
-		nations.sort((Comparator<? super Nation>) compType.getComparator());
 		DisplayedNationsListSortEvent nationListSortEvent = new DisplayedNationsListSortEvent(nations, compType);
 		Bukkit.getPluginManager().callEvent(nationListSortEvent);
-		nations = nationListSortEvent.getNations();
-
-		for (Nation nation : nations) {
-			TextComponent nationName = Component.text(Colors.LightBlue + StringMgmt.remUnderscore(nation.getName()))
-					.clickEvent(ClickEvent.runCommand("/towny:nation spawn " + nation + " -ignore"));
+		return ranking.lines(nationListSortEvent.getNations());
+	}
+	
+	/**
+	 * Moves the town, and its nation, to their new places in the town and nation lists.
+	 * 
+	 * @param town Town whose residents, claims, balance or online players changed,
+	 *             or which was registered or unregistered.
+	 */
+	public static void townChanged(Town town) {
+		for (Ranking<Town> ranking : townRankings.values())
+			ranking.changed(town);
+		
+		Nation nation = town.getNationOrNull();
+		if (nation != null)
+			nationChanged(nation);
+	}
+	
+	/**
+	 * Moves the nation to its new place in the nation lists.
+	 * 
+	 * @param nation Nation whose towns or balance changed, or which was registered or unregistered.
+	 */
+	public static void nationChanged(Nation nation) {
+		for (Ranking<Nation> ranking : nationRankings.values())
+			ranking.changed(nation);
+	}
+	
+	/**
+	 * @param government Town or Nation.
+	 * @return an AccountObserver which moves the government in the lists whenever money moves through its bank.
+	 */
+	public static AccountObserver getBankObserver(Government government) {
+		return new AccountObserver() {
+			@Override
+			public void withdrew(Account account, double amount, String reason) {
+				changed(government);
+			}
 
-			String slug = "";
-			switch (compType) {
-			case BALANCE:
-				slug = TownyEconomyHandler.getFormattedBalance(nation.getAccount().getCachedBalance());
-				break;
-			case TOWNBLOCKS:
-				int rawNumTownsBlocks = nation.getTownBlocks().size();
-				NationListDisplayedNumTownBlocksCalculationEvent tbEvent = new NationListDisplayedNumTownBlocksCalculationEvent(nation, rawNumTownsBlocks);
-				Bukkit.getPluginManager().callEvent(tbEvent);
-				slug = tbEvent.getDisplayedValue() + "";
-				break;
-			case TOWNS:
-				int rawNumTowns = nation.getTowns().size();
-				NationListDisplayedNumTownsCalculationEvent tEvent = new NationListDisplayedNumTownsCalculationEvent(nation, rawNumTowns);
-				Bukkit.getPluginManager().callEvent(tEvent);
-				slug = tEvent.getDisplayedValue() + "";
-				break;
-			case ONLINE:
-				int rawNumOnlinePlayers = TownyAPI.getInstance().getOnlinePlayersInNation(nation).size();
-				NationListDisplayedNumOnlinePlayersCalculationEvent opEvent = new NationListDisplayedNumOnlinePlayersCalculationEvent(nation, rawNumOnlinePlayers);
-				Bukkit.getPluginManager().callEvent(opEvent);
-				slug = opEvent.getDisplayedValue() + "";
-				break;
-			case FOUNDED:
-				if (nation.getRegistered() != 0)
-					slug = TownyFormatter.registeredFormat.format(nation.getRegistered());
-				break;
-			default:
-				int rawNumResidents = nation.getResidents().size();
-				NationListDisplayedNumResidentsCalculationEvent rEvent = new NationListDisplayedNumResidentsCalculationEvent(nation, rawNumResidents);
-				Bukkit.getPluginManager().callEvent(rEvent);
-				slug = rEvent.getDisplayedValue() + "";
-				break;
+			@Override
+			public void deposited(Account account, double amount, String reason) {
+				changed(government);
 			}
+		};
+	}
+	
+	private static void changed(Government government) {
+		if (government instanceof Town town)
+			townChanged(town);
+		else if (government instanceof Nation nation)
+			nationChanged(nation);
+	}
+	
+	/**
+	 * Re-sorts every list when next shown, used when the towns and nations are reloaded.
+	 */
+	public static void invalidate() {
+		townRankings.values().forEach(Ranking::invalidate);
+		nationRankings.values().forEach(Ranking::invalidate);
+	}
+	
+	private static TextComponent formatTownLine(Town town, ComparatorType compType) {
+		TextComponent townName = Component.text(Colors.LightBlue + StringMgmt.remUnderscore(town.getName()))
+				.clickEvent(ClickEvent.runCommand("/towny:town spawn " + town + " -ignore"));
 			
-			nationName = nationName.append(Component.text(Colors.Gray + " - " + Colors.LightBlue + "(" + slug + ")"));
+		String slug = "";
+		switch (compType) {
+		case BALANCE:
+			slug = Colors.LightBlue + "(" + TownyEconomyHandler.getFormattedBalance(town.getAccount().getCachedBalance()) + ")";
+			break;
+		case TOWNBLOCKS:
+			slug = Colors.LightBlue + "(" + town.getTownBlocks().size() + ")";
+			break;
+		case RUINED:
+			slug = Colors.LightBlue + "(" + town.getResidents().size() + ") " + (town.isRuined() ? Translation.of("msg_ruined"):"");
+			break;
+		case BANKRUPT:
+			slug = Colors.LightBlue + "(" + town.getResidents().size() + ") " + (town.isBankrupt() ? Translation.of("msg_bankrupt"):"");
+			break;
+		case ONLINE:
+			slug = Colors.LightBlue + "(" + town.getOnlinePlayers().size() + ")";
+			break;
+		case FOUNDED:
+			if (town.getRegistered() != 0)
+				slug = Colors.LightBlue + "(" + TownyFormatter.registeredFormat.format(town.getRegistered()) + ")";
+			break;
+		default:
+			slug = Colors.LightBlue + "(" + town.getResidents().size() + ")";
+			break;
+		}
+		townName = townName.append(Component.text(Colors.Gray + " - " + slug));
+		
+		if (town.isOpen())
+			townName = townName.append(Component.text(" " + Colors.LightBlue + Translation.of("status_title_open")));
+		
+		String spawnCost = "Free";
+		if (TownyEconomyHandler.isActive())
+			spawnCost = ChatColor.RESET + Translation.of("msg_spawn_cost", TownyEconomyHandler.getFormattedBalance(town.getSpawnCost()));
 
-			if (nation.isOpen())
-				nationName = nationName.append(Component.text(" " + Colors.LightBlue + Translation.of("status_title_open")));
+		townName = townName.hoverEvent(HoverEvent.showText(Component.text(Translation.of("msg_click_spawn", town) + "\n" + spawnCost).color(NamedTextColor.GOLD)));
+		return townName;
+	}
+	
+	private static TextComponent formatNationLine(Nation nation, ComparatorType compType) {
+		TextComponent nationName = Component.text(Colors.LightBlue + StringMgmt.remUnderscore(nation.getName()))
+				.clickEvent(ClickEvent.runCommand("/towny:nation spawn " + nation + " -ignore"));
 
-			String spawnCost = "Free";
-			if (TownyEconomyHandler.isActive())
-				spawnCost = ChatColor.RESET + Translation.of("msg_spawn_cost", TownyEconomyHandler.getFormattedBalance(nation.getSpawnCost()));
-			
-			nationName = nationName.hoverEvent(HoverEvent.showText(Component.text(Colors.Gold + Translation.of("msg_click_spawn", nation) + "\n" + spawnCost)));
-			output.add(nationName);
+		String slug = "";
+		switch (compType) {
+		case BALANCE:
+			slug = TownyEconomyHandler.getFormattedBalance(nation.getAccount().getCachedBalance());
+			break;
+		case TOWNBLOCKS:
+			int rawNumTownsBlocks = nation.getTownBlocks().size();
+			NationListDisplayedNumTownBlocksCalculationEvent tbEvent = new NationListDisplayedNumTownBlocksCalculationEvent(nation, rawNumTownsBlocks);
+			Bukkit.getPluginManager().callEvent(tbEvent);
+			slug = tbEvent.getDisplayedValue() + "";
+			break;
+		case TOWNS:
+			int rawNumTowns = nation.getTowns().size();
+			NationListDisplayedNumTownsCalculationEvent tEvent = new NationListDisplayedNumTownsCalculationEvent(nation, rawNumTowns);
+			Bukkit.getPluginManager().callEvent(tEvent);
+			slug = tEvent.getDisplayedValue() + "";
+			break;
+		case ONLINE:
+			int rawNumOnlinePlayers = nation.getNumOnlinePlayers();
+			NationListDisplayedNumOnlinePlayersCalculationEvent opEvent = new NationListDisplayedNumOnlinePlayersCalculationEvent(nation, rawNumOnlinePlayers);
+			Bukkit.getPluginManager().callEvent(opEvent);
+			slug = opEvent.getDisplayedValue() + "";
+			break;
+		case FOUNDED:
+			if (nation.getRegistered() != 0)
+				slug = TownyFormatter.registeredFormat.format(nation.getRegistered());
+			break;
+		default:
+			int rawNumResidents = nation.getResidents().size();
+			NationListDisplayedNumResidentsCalculationEvent rEvent = new NationListDisplayedNumResidentsCalculationEvent(nation, rawNumResidents);
+			Bukkit.getPluginManager().callEvent(rEvent);
+			slug = rEvent.getDisplayedValue() + "";
+			break;
 		}
-		return output;
+		
+		nationName = nationName.append(Component.text(Colors.Gray + " - " + Colors.LightBlue + "(" + slug + ")"));
+
+		if (nation.isOpen())
+			nationName = nationName.append(Component.text(" " + Colors.LightBlue + Translation.of("status_title_open")));
+
+		String spawnCost = "Free";
+		if (TownyEconomyHandler.isActive())
+			spawnCost = ChatColor.RESET + Translation.of("msg_spawn_cost", TownyEconomyHandler.getFormattedBalance(nation.getSpawnCost()));
+		
+		nationName = nationName.hoverEvent(HoverEvent.showText(Component.text(Colors.Gold + Translation.of("msg_click_spawn", nation) + "\n" + spawnCost)));
+		return nationName;
 	}
 }
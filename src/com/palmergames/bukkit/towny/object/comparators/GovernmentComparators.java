@@ -13,7 +13,7 @@ public class GovernmentComparators {
 	public static final Comparator<Government> BY_NUM_RESIDENTS = (t1, t2) -> t2.getResidents().size() - t1.getResidents().size();
 	public static final Comparator<Government> BY_NAME = Comparator.comparing(TownyObject::getName);
 	public static final Comparator<Government> BY_BANK_BALANCE = (g1, g2) -> Double.compare(g2.getAccount().getCachedBalance(), g1.getAccount().getCachedBalance());
-	public static final Comparator<Government> BY_NUM_ONLINE = (g1, g2) -> TownyAPI.getInstance().getOnlinePlayers(g2).size() - TownyAPI.getInstance().getOnlinePlayers(g1).size();
+	public static final Comparator<Government> BY_NUM_ONLINE = (g1, g2) -> TownyAPI.getInstance().getOnlinePlayerCount(g2) - TownyAPI.getInstance().getOnlinePlayerCount(g1);
 	public static final Comparator<Government> BY_TOWNBLOCKS_CLAIMED = (g1, g2) -> Double.compare(g2.getTownBlocks().size(), g1.getTownBlocks().size());
 	public static final Comparator<Government> BY_FOUNDED = (g1, g2) -> Long.compare(g1.getRegistered(), g2.getRegistered());
 	public static final Comparator<Government> BY_OPEN = (t1, t2) -> {
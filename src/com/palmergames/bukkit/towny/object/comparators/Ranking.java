@@ -0,0 +1,122 @@
+package com.palmergames.bukkit.towny.object.comparators;
+
+import com.palmergames.bukkit.towny.object.Government;
+import net.kyori.adventure.text.TextComponent;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Governments kept in the order of one {@link ComparatorType}, along with
+ * their list lines.
+ *
+ * Governments which change are queued and moved to their new place the next
+ * time the ranking is read, instead of re-sorting everything. Lines are only
+ * formatted once they land on a page which is shown, and kept until the
+ * government changes again. Values nothing tells the ranking about are caught
+ * by a full re-sort every {@value #RESORT_MINUTES} minutes.
+ *
+ * @param <T> Town or Nation.
+ */
+class Ranking<T extends Government> {
+
+	private static final long RESORT_MINUTES = 10;
+
+	private final Comparator<? super T> comparator;
+	private final Function<T, TextComponent> formatter;
+	private final Set<T> changed = ConcurrentHashMap.newKeySet();
+	private final List<T> ranked = new ArrayList<>();
+	private final Map<T, TextComponent> lines = new HashMap<>();
+	private long sortedAt = 0;
+
+	Ranking(Comparator<? super T> comparator, Function<T, TextComponent> formatter) {
+		this.comparator = comparator;
+		this.formatter = formatter;
+	}
+
+	/**
+	 * Queues the government to be moved to its new place, safe to call from any thread.
+	 */
+	void changed(T government) {
+		changed.add(government);
+	}
+
+	/**
+	 * Forces a full re-sort on the next read.
+	 */
+	synchronized void invalidate() {
+		sortedAt = 0;
+	}
+
+	/**
+	 * Brings the ranking up to date.
+	 *
+	 * @param all Supplies every registered government, used when the ranking is re-sorted.
+	 * @param registered Tests if a changed government is still registered.
+	 * @return a copy of the ranked governments.
+	 */
+	synchronized List<T> update(Supplier<Collection<T>> all, Predicate<T> registered) {
+		if (System.currentTimeMillis() - sortedAt > TimeUnit.MINUTES.toMillis(RESORT_MINUTES)) {
+			changed.clear();
+			ranked.clear();
+			lines.clear();
+			ranked.addAll(all.get());
+			ranked.sort(comparator);
+			sortedAt = System.currentTimeMillis();
+		} else if (!changed.isEmpty()) {
+			Set<T> moved = new HashSet<>(changed);
+			changed.removeAll(moved);
+
+			// Every changed government is taken out before any is put back, so the rest of the list is sorted for the binary searches.
+			ranked.removeIf(moved::contains);
+			moved.forEach(lines::remove);
+			moved.removeIf(registered.negate());
+
+			if (moved.size() > ranked.size() / 8) {
+				// Inserting this many one at a time would cost more than sorting.
+				ranked.addAll(moved);
+				ranked.sort(comparator);
+			} else {
+				for (T government : moved) {
+					int index = Collections.binarySearch(ranked, government, comparator);
+					ranked.add(index < 0 ? -index - 1 : index, government);
+				}
+			}
+		}
+		return new ArrayList<>(ranked);
+	}
+
+	/**
+	 * @return a list which formats the lines of the given governments as they are read.
+	 */
+	List<TextComponent> lines(List<T> order) {
+		return new AbstractList<TextComponent>() {
+			@Override
+			public TextComponent get(int index) {
+				return line(order.get(index));
+			}
+
+			@Override
+			public int size() {
+				return order.size();
+			}
+		};
+	}
+
+	private synchronized TextComponent line(T government) {
+		return lines.computeIfAbsent(government, formatter);
+	}
+}
@@ -0,0 +1,55 @@
+package com.palmergames.bukkit.towny.permissions;
+
+import org.bukkit.Material;
+
+import com.palmergames.bukkit.towny.object.TownyPermission.ActionType;
+
+/**
+ * The nodes of one family of material overrides, such as
+ * towny.claimed.owntown.build.STONE, built once for every action and
+ * material so that checking an override doesn't have to build them.
+ */
+final class OverrideNodes {
+
+	static final OverrideNodes WILD = new OverrideNodes(PermissionNodes.TOWNY_WILD_ALL, "");
+	static final OverrideNodes OWN_TOWN = new OverrideNodes(PermissionNodes.TOWNY_CLAIMED_ALL, "owntown.");
+	static final OverrideNodes TOWN_OWNED = new OverrideNodes(PermissionNodes.TOWNY_CLAIMED_ALL, "townowned.");
+	static final OverrideNodes ALL_TOWN = new OverrideNodes(PermissionNodes.TOWNY_CLAIMED_ALL, "alltown.");
+
+	// [ActionType.ordinal()][Material.ordinal()]
+	private final String[][] nodes;
+	// The wildcard parents of an action's nodes, from "*" down, and their negations.
+	private final String[][] wildcards;
+	private final String[][] negatedWildcards;
+
+	private OverrideNodes(PermissionNodes family, String prefix) {
+		ActionType[] actions = ActionType.values();
+		Material[] materials = Material.values();
+		nodes = new String[actions.length][materials.length];
+		wildcards = new String[actions.length][];
+		negatedWildcards = new String[actions.length][];
+
+		for (ActionType action : actions) {
+			String actionPrefix = prefix + action.toString().toLowerCase() + ".";
+			for (Material material : materials)
+				nodes[action.ordinal()][material.ordinal()] = family.getNode(actionPrefix + material);
+
+			// Every material's node has the same parents, so any of them will do.
+			String[][] parents = TownyPermissionSource.getWildcards(nodes[action.ordinal()][0]);
+			wildcards[action.ordinal()] = parents[0];
+			negatedWildcards[action.ordinal()] = parents[1];
+		}
+	}
+
+	String getNode(ActionType action, Material material) {
+		return nodes[action.ordinal()][material.ordinal()];
+	}
+
+	String[] getWildcards(ActionType action) {
+		return wildcards[action.ordinal()];
+	}
+
+	String[] getNegatedWildcards(ActionType action) {
+		return negatedWildcards[action.ordinal()];
+	}
+}
@@ -71,10 +71,6 @@ public abstract class TownyPermissionSource {
 	 */
 	public boolean hasWildOverride(TownyWorld world, Player player, Material material, TownyPermission.ActionType action) {
 
-		// check for permissions
-
-		String blockPerm = PermissionNodes.TOWNY_WILD_ALL.getNode(action.toString().toLowerCase() + "." + material);
-
 		/*
 		 * If the player has the data node permission registered directly
 		 *  or
@@ -82,7 +78,7 @@ public abstract class TownyPermissionSource {
 		 *  or
 		 * no node set but we are using permissions so check world settings
 		 */
-		return has(player, blockPerm) || unclaimedZoneAction(world, material, action);
+		return hasOverride(player, OverrideNodes.WILD, material, action) || unclaimedZoneAction(world, material, action);
 
 	}
 
@@ -114,9 +110,6 @@ public abstract class TownyPermissionSource {
 	 */
 	public boolean hasOwnTownOverride(Player player, Material material, TownyPermission.ActionType action) {
 
-		//check for permissions
-		String blockPerm = PermissionNodes.TOWNY_CLAIMED_ALL.getNode("owntown." + action.toString().toLowerCase() + "." + material);
-
 		/*
 		 * If the player has the data node permission registered directly
 		 *  or
@@ -124,7 +117,7 @@ public abstract class TownyPermissionSource {
 		 *  or
 		 * the player has an All town Override
 		 */
-		return has(player, blockPerm) || hasAllTownOverride(player, material, action);
+		return hasOverride(player, OverrideNodes.OWN_TOWN, material, action) || hasAllTownOverride(player, material, action);
 	}
 
 	/**
@@ -137,19 +130,14 @@ public abstract class TownyPermissionSource {
 	 */
 	public boolean hasTownOwnedOverride(Player player, Material material, TownyPermission.ActionType action) {
 
-		//check for permissions
-		String blockPerm = PermissionNodes.TOWNY_CLAIMED_ALL.getNode("townowned." + action.toString().toLowerCase() + "." + material);
-
 		/*
 		 * If the player has the data node permission registered directly
 		 *  or
 		 * the player has the block permission and the data node isn't registered
 		 *  or
-		 * the player has an Own Town Override
-		 *  or
-		 * the player has an All town Override
+		 * the player has an Own Town Override (which includes the All town Override)
 		 */
-		return has(player, blockPerm) || hasOwnTownOverride(player, material, action) || hasAllTownOverride(player, material, action);
+		return hasOverride(player, OverrideNodes.TOWN_OWNED, material, action) || hasOwnTownOverride(player, material, action);
 	}
 
 	/**
@@ -162,15 +150,16 @@ public abstract class TownyPermissionSource {
 	 */
 	public boolean hasAllTownOverride(Player player, Material material, TownyPermission.ActionType action) {
 
-		//check for permissions
-		String blockPerm = PermissionNodes.TOWNY_CLAIMED_ALL.getNode("alltown." + action.toString().toLowerCase() + "." + material);
-
 		/*
 		 * If the player has the data node permission registered directly
 		 *  or
 		 * the player has the block permission and the data node isn't registered
 		 */
-		return has(player, blockPerm);
+		return hasOverride(player, OverrideNodes.ALL_TOWN, material, action);
+	}
+
+	private boolean hasOverride(Player player, OverrideNodes family, Material material, TownyPermission.ActionType action) {
+		return player.isOp() || strictHas(player, family.getNode(action, material), family.getWildcards(action), family.getNegatedWildcards(action));
 	}
 	
 	public boolean isTownyAdmin(Player player) {
@@ -230,21 +219,34 @@ public abstract class TownyPermissionSource {
 		if (permissible.isPermissionSet(node))
 			return permissible.hasPermission(node);
 
+		String[][] parents = getWildcards(node);
+		return hasWildcard(permissible, parents[0], parents[1]);
+	}
+
+	/**
+	 * Same as {@link #strictHas(Permissible, String)}, for a node whose
+	 * wildcard parents have already been worked out.
+	 */
+	private boolean strictHas(Permissible permissible, String node, String[] wildcards, String[] negatedWildcards) {
+
+		if (permissible.isPermissionSet(node))
+			return permissible.hasPermission(node);
+
+		return hasWildcard(permissible, wildcards, negatedWildcards);
+	}
+
+	private boolean hasWildcard(Permissible permissible, String[] wildcards, String[] negatedWildcards) {
+
 		/*
 		 * Check for a parent with a wildcard
 		 */
-		final String[] parts = node.split("\\.");
-		final StringBuilder builder = new StringBuilder(node.length());
-		for (String part : parts) {
-			builder.append('*');
-			if (permissible.hasPermission("-" + builder.toString())) {
+		for (int i = 0; i < wildcards.length; i++) {
+			if (permissible.hasPermission(negatedWildcards[i])) {
 				return false;
 			}
-			if (permissible.hasPermission(builder.toString())) {
+			if (permissible.hasPermission(wildcards[i])) {
 				return true;
 			}
-			builder.deleteCharAt(builder.length() - 1);
-			builder.append(part).append('.');
 		}
 
 		/*
@@ -253,4 +255,27 @@ public abstract class TownyPermissionSource {
 		return false;
 
 	}
+
+	/**
+	 * Gets the wildcard nodes which grant a node, ie: *, towny.* and
+	 * towny.wild.* for towny.wild.build, most general first.
+	 *
+	 * @param node Permission node.
+	 * @return the wildcards, followed by the same wildcards negated.
+	 */
+	static String[][] getWildcards(String node) {
+
+		final String[] parts = node.split("\\.");
+		final String[] wildcards = new String[parts.length];
+		final String[] negatedWildcards = new String[parts.length];
+		final StringBuilder builder = new StringBuilder(node.length());
+		for (int i = 0; i < parts.length; i++) {
+			builder.append('*');
+			wildcards[i] = builder.toString();
+			negatedWildcards[i] = "-" + wildcards[i];
+			builder.deleteCharAt(builder.length() - 1);
+			builder.append(parts[i]).append('.');
+		}
+		return new String[][] { wildcards, negatedWildcards };
+	}
 }
@@ -26,6 +26,8 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -34,6 +36,8 @@ import java.util.List;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author ElgarL
@@ -47,6 +51,63 @@ public class TownyPerms {
 	private static CommentedConfiguration perms;
 	private static Towny plugin;
 	private static List<String> vitalGroups = new ArrayList<>(Arrays.asList("nomad","towns.default","towns.mayor","towns.ranks","nations.default","nations.king","nations.ranks"));
+
+	/*
+	 * Residents whose town, nation and ranks are the same get the same permissions,
+	 * so each distinct set is only built once and then shared between them.
+	 */
+	private static final Map<PermissionSetKey, PermissionSet> permissionSets = new ConcurrentHashMap<>();
+	// Every permission node seen so far, numbered for the bits of a PermissionSet.
+	private static final Map<String, Integer> nodeIds = new ConcurrentHashMap<>();
+	private static final AtomicInteger nextNodeId = new AtomicInteger();
+
+	/**
+	 * Everything a resident's permissions are built from. A resident whose
+	 * ranks, town or nation change simply has a different key.
+	 */
+	private record PermissionSetKey(String townName, boolean mayor, List<String> townRanks, String nationName, boolean king, List<String> nationRanks) {
+
+		private static PermissionSetKey of(Resident resident) {
+			Town town = resident.getTownOrNull();
+			if (town == null)
+				return new PermissionSetKey(null, false, Collections.emptyList(), null, false, Collections.emptyList());
+
+			Nation nation = town.getNationOrNull();
+			if (nation == null)
+				return new PermissionSetKey(town.getName(), resident.isMayor(), resident.getTownRanks(), null, false, Collections.emptyList());
+
+			return new PermissionSetKey(town.getName(), resident.isMayor(), resident.getTownRanks(), nation.getName(), resident.isKing(), resident.getNationRanks());
+		}
+
+		/**
+		 * @return a key which doesn't share the resident's rank lists, so it can be stored.
+		 */
+		private PermissionSetKey copy() {
+			return new PermissionSetKey(townName, mayor, List.copyOf(townRanks), nationName, king, List.copyOf(nationRanks));
+		}
+	}
+
+	/**
+	 * A resident's permission nodes in the order they are given to Bukkit,
+	 * along with the nodes they are granted as bits for quick lookups.
+	 */
+	private static final class PermissionSet {
+		private final Map<String, Boolean> perms;
+		private final BitSet granted = new BitSet();
+
+		private PermissionSet(LinkedHashMap<String, Boolean> perms) {
+			this.perms = Collections.unmodifiableMap(perms);
+			perms.forEach((node, value) -> {
+				if (value)
+					granted.set(nodeIds.computeIfAbsent(node, k -> nextNodeId.getAndIncrement()));
+			});
+		}
+
+		private boolean grants(String node) {
+			Integer id = nodeIds.get(node);
+			return id != null && granted.get(id);
+		}
+	}
 	
 	public static void initialize(Towny plugin) {
 		TownyPerms.plugin = plugin;
@@ -90,6 +151,7 @@ public class TownyPerms {
 		}
 
 		groupPermsMap.clear();
+		permissionSets.clear();
 		buildGroupPermsMap();
 		checkForVitalGroups();
 		buildComments();
@@ -186,7 +248,7 @@ public class TownyPerms {
 					/*
 					 * Fill with the fresh perm nodes
 					 */
-					orig.putAll(TownyPerms.getResidentPerms(resident));
+					orig.putAll(getPermissionSet(resident).perms);
 
 					// System.out.print("Perms set for: " + resident.getName());
 				}
@@ -276,6 +338,52 @@ public class TownyPerms {
 	 * @return a sorted Map of permission nodes
 	 */
 	public static LinkedHashMap<String, Boolean> getResidentPerms(Resident resident) {
+		return new LinkedHashMap<>(getPermissionSet(resident).perms);
+	}
+
+	/**
+	 * Answers whether the resident's townyperms.yml permissions grant a node,
+	 * without building the resident's permissions again.
+	 * 
+	 * @param resident - Resident to check
+	 * @param node - Permission node, as it is written in the townyperms.yml
+	 * @return true if the node is granted, false if it is missing or negated.
+	 */
+	public static boolean hasTownyPerm(Resident resident, String node) {
+		return getPermissionSet(resident).grants(node);
+	}
+
+	private static PermissionSet getPermissionSet(Resident resident) {
+		PermissionSetKey key = PermissionSetKey.of(resident);
+		PermissionSet set = permissionSets.get(key);
+		if (set == null) {
+			set = new PermissionSet(buildResidentPerms(resident));
+			permissionSets.put(key.copy(), set);
+		}
+		return set;
+	}
+
+	/**
+	 * Forgets the permission sets built for a town's residents, used when the
+	 * town is deleted or renamed.
+	 * 
+	 * @param town - Town which is going away
+	 */
+	public static void removePermissionSets(Town town) {
+		permissionSets.keySet().removeIf(key -> town.getName().equals(key.townName()));
+	}
+
+	/**
+	 * Forgets the permission sets built for a nation's residents, used when the
+	 * nation is deleted or renamed.
+	 * 
+	 * @param nation - Nation which is going away
+	 */
+	public static void removePermissionSets(Nation nation) {
+		permissionSets.keySet().removeIf(key -> nation.getName().equals(key.nationName()));
+	}
+
+	private static LinkedHashMap<String, Boolean> buildResidentPerms(Resident resident) {
 		// Start by adding the default perms everyone gets
 		Set<String> permList = new HashSet<>(getDefault());
 		
@@ -548,6 +656,8 @@ public class TownyPerms {
 	public static void collectPermissions() {
 
 		registeredPermissions.clear();
+		// The order of a resident's nodes depends on the registered children.
+		permissionSets.clear();
 
 		for (Permission perm : BukkitTools.getPluginManager().getPermissions()) {
 			registeredPermissions.put(perm.getName().toLowerCase(), perm);
@@ -0,0 +1,175 @@
+package com.palmergames.bukkit.towny.regen;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Read-only list of block data strings, stored as a palette of the distinct
+ * strings and a bit-packed array of indexes into that palette.
+ *
+ * A plot rarely has more than a few dozen distinct blocks, so each block costs
+ * a handful of bits instead of a String. Indexes never span two longs, which
+ * keeps {@link #get(int)} to a shift and a mask.
+ */
+public class PackedBlockList extends AbstractList<String> {
+
+	private final List<String> palette;
+	private final int size;
+	private final int bits;
+	private final int perLong;
+	private final long mask;
+	private final long[] data;
+
+	private PackedBlockList(List<String> palette, int size, int bits, long[] data) {
+		this.palette = palette;
+		this.size = size;
+		this.bits = bits;
+		this.perLong = 64 / bits;
+		this.mask = (1L << bits) - 1;
+		this.data = data;
+	}
+
+	/**
+	 * Packs a list of block data strings.
+	 *
+	 * @param blocks List of block data strings.
+	 * @return PackedBlockList holding the same strings, or the list itself if it is already packed.
+	 */
+	public static PackedBlockList of(List<String> blocks) {
+		if (blocks instanceof PackedBlockList packed)
+			return packed;
+
+		Builder builder = new Builder(blocks.size());
+		for (String block : blocks)
+			builder.add(block);
+		return builder.build();
+	}
+
+	private static int bitsFor(int paletteSize) {
+		return paletteSize <= 1 ? 1 : 32 - Integer.numberOfLeadingZeros(paletteSize - 1);
+	}
+
+	@Override
+	public String get(int index) {
+		return palette.get(getPaletteIndex(index));
+	}
+
+	/**
+	 * @param index position of the block in the list.
+	 * @return index of the block's data string in the palette.
+	 */
+	public int getPaletteIndex(int index) {
+		if (index < 0 || index >= size)
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+		return (int) ((data[index / perLong] >>> ((index % perLong) * bits)) & mask);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return the distinct block data strings, in the order they were first seen.
+	 */
+	public List<String> getPalette() {
+		return palette;
+	}
+
+	/**
+	 * Writes the palette followed by the packed indexes.
+	 *
+	 * @param out DataOutputStream to write to.
+	 * @throws IOException if the stream cannot be written to.
+	 */
+	public void write(DataOutputStream out) throws IOException {
+		out.writeInt(palette.size());
+		for (String block : palette)
+			out.writeUTF(block);
+		out.writeInt(size);
+		out.writeByte(bits);
+		out.writeInt(data.length);
+		for (long word : data)
+			out.writeLong(word);
+	}
+
+	/**
+	 * Reads a list written by {@link #write(DataOutputStream)}.
+	 *
+	 * @param in DataInputStream to read from.
+	 * @return PackedBlockList which was read.
+	 * @throws IOException if the stream cannot be read or holds an invalid list.
+	 */
+	public static PackedBlockList read(DataInputStream in) throws IOException {
+		int paletteSize = in.readInt();
+		if (paletteSize < 0)
+			throw new IOException("Invalid palette size: " + paletteSize);
+
+		List<String> palette = new ArrayList<>(paletteSize);
+		for (int i = 0; i < paletteSize; i++)
+			palette.add(in.readUTF());
+
+		int size = in.readInt();
+		int bits = in.readByte();
+		int length = in.readInt();
+		if (size < 0 || bits < 1 || bits > 32 || length != (int) Math.ceil((double) size / (64 / bits)))
+			throw new IOException("Invalid packed block list header.");
+
+		long[] data = new long[length];
+		for (int i = 0; i < length; i++)
+			data[i] = in.readLong();
+
+		PackedBlockList list = new PackedBlockList(Collections.unmodifiableList(palette), size, bits, data);
+		for (int i = 0; i < size; i++)
+			if (list.getPaletteIndex(i) >= paletteSize)
+				throw new IOException("Packed block list refers past the end of its palette.");
+		return list;
+	}
+
+	/**
+	 * Collects block data strings one at a time, for when a plot is being snapshotted.
+	 */
+	public static class Builder {
+		private final List<String> palette = new ArrayList<>();
+		private final Map<String, Integer> paletteIndex = new HashMap<>();
+		private int[] indexes;
+		private int size = 0;
+
+		public Builder(int expectedSize) {
+			this.indexes = new int[Math.max(expectedSize, 16)];
+		}
+
+		public Builder add(String block) {
+			Integer index = paletteIndex.get(block);
+			if (index == null) {
+				index = palette.size();
+				palette.add(block);
+				paletteIndex.put(block, index);
+			}
+
+			if (size == indexes.length)
+				indexes = Arrays.copyOf(indexes, size << 1);
+			indexes[size++] = index;
+			return this;
+		}
+
+		public PackedBlockList build() {
+			int bits = bitsFor(palette.size());
+			int perLong = 64 / bits;
+			long[] data = new long[(size + perLong - 1) / perLong];
+			for (int i = 0; i < size; i++)
+				data[i / perLong] |= (long) indexes[i] << ((i % perLong) * bits);
+
+			return new PackedBlockList(Collections.unmodifiableList(new ArrayList<>(palette)), size, bits, data);
+		}
+	}
+}
@@ -2,27 +2,38 @@ package com.palmergames.bukkit.towny.regen;
 
 import com.palmergames.bukkit.towny.TownyMessaging;
 import com.palmergames.bukkit.towny.TownySettings;
+import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.regen.block.BlockObject;
 import com.palmergames.bukkit.util.BukkitTools;
 
+import org.bukkit.ChunkSnapshot;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
-import java.util.ArrayList;
+import org.bukkit.block.data.BlockData;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class PlotBlockData {
 
-	private int defaultVersion = 4;
+	private int defaultVersion = 5;
 
 	private String worldName;
 	private TownBlock townBlock;
 	private int x, z, size, height, version;
 
-	private List<String> blockList = new ArrayList<>(); // Stores the original plot blocks
+	private PackedBlockList blockList = PackedBlockList.of(Collections.emptyList()); // Stores the original plot blocks
+	private BlockObject[] parsedPalette = new BlockObject[0]; // Palette entries parsed so far while restoring
 	private int blockListRestored; // counter for the next block to test
+	private volatile int[] revertQueue; // indexes of the blocks a batched revert will change, found async
+	private int revertCursor; // position of the batched revert in the revertQueue
+	private long revertStarted;
 
 	public PlotBlockData(TownBlock townBlock) {
 
@@ -38,7 +49,8 @@ public class PlotBlockData {
 
 	public void initialize() {
 
-		List<String> blocks = getBlockArr();
+		World world = this.townBlock.getWorldCoord().getBukkitWorld();
+		List<String> blocks = getBlockArr((x, y, z) -> world.getBlockAt(x, y, z).getBlockData());
 		if (blocks != null) {
 			setBlockList(blocks); //fill array
 			resetBlockListRestored();
@@ -46,40 +58,85 @@ public class PlotBlockData {
 	}
 
 	/**
-	 * Fills an array with the current Block types from the plot.
+	 * Fills the BlockList from chunk snapshots taken by {@link #takeChunkSnapshots()}.
+	 * Unlike {@link #initialize()} this is safe to call from an async thread.
 	 * 
-	 * @return
+	 * @param chunks ChunkSnapshots of the plot, keyed by {@link Coord#toKey(int, int)}.
 	 */
-	private List<String> getBlockArr() {
+	public void initialize(Map<Long, ChunkSnapshot> chunks) {
 
-		List<String> list = new ArrayList<>();
-		Block block = null;
+		setBlockList(getBlockArr((x, y, z) -> chunks.get(Coord.toKey(x >> 4, z >> 4)).getBlockData(x & 15, y, z & 15)));
+		resetBlockListRestored();
+	}
+
+	/**
+	 * Takes a snapshot of every chunk the plot covers, must be called on the main thread.
+	 * 
+	 * @return ChunkSnapshots keyed by {@link Coord#toKey(int, int)} of the chunk coordinates.
+	 */
+	public Map<Long, ChunkSnapshot> takeChunkSnapshots() {
+
+		World world = this.townBlock.getWorldCoord().getBukkitWorld();
+		Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+		int minX = getX() * size, minZ = getZ() * size;
+		for (int chunkX = minX >> 4; chunkX <= (minX + size - 1) >> 4; chunkX++)
+			for (int chunkZ = minZ >> 4; chunkZ <= (minZ + size - 1) >> 4; chunkZ++)
+				chunks.put(Coord.toKey(chunkX, chunkZ), world.getChunkAt(chunkX, chunkZ).getChunkSnapshot(false, false, false));
+		return chunks;
+	}
+
+	/**
+	 * @return true if every chunk the plot covers is loaded, so that
+	 *         {@link #takeChunkSnapshots()} won't load or generate any.
+	 */
+	public boolean areChunksLoaded() {
 
 		World world = this.townBlock.getWorldCoord().getBukkitWorld();
-		/*
-		 * if (!world.isChunkLoaded(MinecraftTools.calcChunk(getX()),
-		 * MinecraftTools.calcChunk(getZ()))) {
-		 * return null;
-		 * }
-		 */
+		int minX = getX() * size, minZ = getZ() * size;
+		for (int chunkX = minX >> 4; chunkX <= (minX + size - 1) >> 4; chunkX++)
+			for (int chunkZ = minZ >> 4; chunkZ <= (minZ + size - 1) >> 4; chunkZ++)
+				if (!world.isChunkLoaded(chunkX, chunkZ))
+					return false;
+		return true;
+	}
+
+	/**
+	 * Looks up the BlockData at a world position, either live or from a snapshot.
+	 */
+	private interface BlockDataSource {
+		BlockData getBlockData(int x, int y, int z);
+	}
+
+	/**
+	 * Fills an array with the Block types of the plot.
+	 * 
+	 * @param source where to read the blocks from.
+	 * @return List of the plot's blocks, packed into a palette.
+	 */
+	private List<String> getBlockArr(BlockDataSource source) {
+
+		PackedBlockList.Builder list = new PackedBlockList.Builder(size * size * height);
+		BlockData blockData;
+
 		for (int z = 0; z < size; z++)
 			for (int x = 0; x < size; x++)
 				for (int y = height; y > 0; y--) { // Top down to account for falling blocks.
-					block = world.getBlockAt((getX() * size) + x, y, (getZ() * size) + z);
+					blockData = source.getBlockData((getX() * size) + x, y, (getZ() * size) + z);
 					switch (defaultVersion) {
 
 					case 1:
 					case 2:
 					case 3:
 					case 4:
-						list.add(block.getBlockData().getAsString(true));
+					case 5:
+						list.add(blockData.getAsString(true));
 						break;
 					default:
-						list.add(block.getType().getKey().toString());
+						list.add(blockData.getMaterial().getKey().toString());
 
 					}					
 				}
-		return list;
+		return list.build();
 	}
 
 	/**
@@ -109,6 +166,7 @@ public class PlotBlockData {
 				scale = 2;
 				break;	
 			case 4:
+			case 5:
 				scale = 1;
 				break;	
 			default:
@@ -138,6 +196,7 @@ public class PlotBlockData {
 				case 2:				
 				case 3:
 				case 4:
+				case 5:
 					blockListRestored += scale;
 					
 					mat = storedData.getMaterial();
@@ -174,6 +233,174 @@ public class PlotBlockData {
 		return false;
 	}
 
+	/**
+	 * @return true if this snapshot can be reverted in batches, older snapshots store two entries per block.
+	 */
+	public boolean isBatchRevertSupported() {
+
+		return version >= 4;
+	}
+
+	/**
+	 * @return true once {@link #startBatchRevert()} has been called.
+	 */
+	public boolean isBatchRevertStarted() {
+
+		return revertStarted != 0;
+	}
+
+	/**
+	 * @return true once the blocks needing to be reverted are known.
+	 */
+	public boolean isBatchRevertReady() {
+
+		return revertQueue != null;
+	}
+
+	/**
+	 * Begins a batched revert, must be called on the main thread. Any of the
+	 * plot's chunks which aren't loaded will be, check {@link #areChunksLoaded()} first.
+	 * 
+	 * The plot's chunks are snapshotted and compared against the stored blocks
+	 * async, finding every block which needs to be reverted. Blocks changed
+	 * after this point are not picked up.
+	 */
+	public void startBatchRevert() {
+
+		revertStarted = System.currentTimeMillis();
+
+		// Resolve the palette here, creating BlockData is not safe off of the main thread.
+		List<String> palette = blockList.getPalette();
+		Material[] paletteMats = new Material[palette.size()];
+		for (int i = 0; i < paletteMats.length; i++) {
+			try {
+				paletteMats[i] = getStoredPaletteEntry(i).getMaterial();
+			} catch (IllegalArgumentException e) {
+				TownyMessaging.sendDebugMsg("Towny's revert-on-unclaim feature encountered a block which will not load on the current version of MC. Ignoring and skipping to next block.");
+			}
+		}
+
+		Map<Long, ChunkSnapshot> chunks = takeChunkSnapshots();
+		BukkitTools.scheduleAsyncDelayedTask(() -> revertQueue = diff(chunks, paletteMats), 0);
+	}
+
+	/**
+	 * Finds the indexes of every stored block differing from the chunk snapshots,
+	 * in the order {@link #restoreNextBlock()} would revert them.
+	 */
+	private int[] diff(Map<Long, ChunkSnapshot> chunks, Material[] paletteMats) {
+
+		int worldx = getX() * size, worldz = getZ() * size;
+		int[] queue = new int[64];
+		int count = 0;
+
+		for (int index = blockList.size() - 1; index >= 0; index--) {
+			Material mat = paletteMats[blockList.getPaletteIndex(index)];
+			if (mat == null)
+				continue;
+
+			int y = height - (index % height);
+			int x = worldx + (index / height) % size;
+			int z = worldz + (index / height / size) % size;
+			if (chunks.get(Coord.toKey(x >> 4, z >> 4)).getBlockType(x & 15, y, z & 15) == mat)
+				continue;
+
+			if (count == queue.length)
+				queue = Arrays.copyOf(queue, count << 1);
+			queue[count++] = index;
+		}
+		return Arrays.copyOf(queue, count);
+	}
+
+	/**
+	 * Reverts blocks found by {@link #startBatchRevert()} until the deadline passes.
+	 * Each block is checked again before it is changed.
+	 * 
+	 * @param deadline {@link System#nanoTime()} at which to stop.
+	 * @return true if there are more blocks to revert.
+	 */
+	public boolean restoreBlocks(long deadline) {
+
+		World world = this.townBlock.getWorldCoord().getBukkitWorld();
+		int worldx = getX() * size, worldz = getZ() * size;
+
+		while (revertCursor < revertQueue.length) {
+			if (System.nanoTime() >= deadline)
+				return true;
+
+			int index = revertQueue[revertCursor];
+			int y = height - (index % height);
+			int x = worldx + (index / height) % size;
+			int z = worldz + (index / height / size) % size;
+			if (!world.isChunkLoaded(x >> 4, z >> 4))
+				return true;
+
+			revertCursor++;
+			BlockObject storedData = getStoredBlockData(index);
+			Block block = world.getBlockAt(x, y, z);
+			Material mat = storedData.getMaterial();
+			if (block.getType() == mat)
+				continue;
+
+			if (this.townBlock.getWorld().isPlotManagementIgnoreIds(mat)) {
+				block.setType(Material.AIR);
+				continue;
+			}
+
+			try {
+				block.setType(mat, false);
+				block.setBlockData(storedData.getBlockData());
+			} catch (Exception e) {
+				TownyMessaging.sendErrorMsg("Exception in PlotBlockData.java");
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return number of blocks the batched revert has to change, or -1 if not yet known.
+	 */
+	public int getRevertTotal() {
+
+		return revertQueue == null ? -1 : revertQueue.length;
+	}
+
+	/**
+	 * @return number of blocks the batched revert has handled so far.
+	 */
+	public int getRevertDone() {
+
+		return revertCursor;
+	}
+
+	/**
+	 * @return fraction of the batched revert which is done, between 0 and 1.
+	 */
+	public double getRevertProgress() {
+
+		if (revertQueue == null)
+			return 0;
+		return revertQueue.length == 0 ? 1 : (double) revertCursor / revertQueue.length;
+	}
+
+	/**
+	 * @return estimated milliseconds until the batched revert finishes, or -1 if it cannot be estimated yet.
+	 */
+	public long getRevertEta() {
+
+		if (revertQueue == null || revertCursor == 0)
+			return -1;
+		long elapsed = System.currentTimeMillis() - revertStarted;
+		return elapsed * (revertQueue.length - revertCursor) / revertCursor;
+	}
+
+	private BlockObject getStoredPaletteEntry(int paletteIndex) {
+
+		if (parsedPalette[paletteIndex] == null)
+			parsedPalette[paletteIndex] = new BlockObject(blockList.getPalette().get(paletteIndex));
+		return parsedPalette[paletteIndex];
+	}
+
 	private BlockObject getStoredBlockData(int index) {
 
 		//return based upon version
@@ -182,8 +409,11 @@ public class PlotBlockData {
 		case 1:
 		case 2:
 		case 3:
-		case 4:
 			return new BlockObject(blockList.get(index));
+		case 4:
+		case 5:
+			// Every block sharing a palette entry shares the parsed BlockData.
+			return getStoredPaletteEntry(blockList.getPaletteIndex(index));
 		default:
 			return new BlockObject(blockList.get(index));
 		}
@@ -252,7 +482,7 @@ public class PlotBlockData {
 	}
 
 	/**
-	 * @return the blockList
+	 * @return the blockList, a read-only palette backed list.
 	 */
 	public List<String> getBlockList() {
 
@@ -260,13 +490,22 @@ public class PlotBlockData {
 	}
 
 	/**
-	 * fills the BlockList
+	 * fills the BlockList, packing it into a palette if it isn't already.
 	 * 
 	 * @param blockList - BlockList (List&lt;String&gt;)
 	 */
 	public void setBlockList(List<String> blockList) {
 
-		this.blockList = blockList;
+		this.blockList = PackedBlockList.of(blockList);
+		this.parsedPalette = new BlockObject[this.blockList.getPalette().size()];
+	}
+
+	/**
+	 * @return the blockList in its packed form, for writing to disk.
+	 */
+	public PackedBlockList getPackedBlockList() {
+
+		return blockList;
 	}
 
 	/**
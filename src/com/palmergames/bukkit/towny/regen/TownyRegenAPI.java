@@ -11,6 +11,8 @@ import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.regen.block.BlockLocation;
 import com.palmergames.bukkit.towny.tasks.ProtectionRegenTask;
 import com.palmergames.bukkit.util.BukkitTools;
+import com.palmergames.util.LongObjectHashMap;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -19,10 +21,15 @@ import org.bukkit.event.block.BlockExplodeEvent;
 import org.bukkit.event.entity.EntityExplodeEvent;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -43,8 +50,13 @@ public class TownyRegenAPI {
 	// A list of worldCoords which are needing snapshots
 	private static List<WorldCoord> worldCoords = new ArrayList<>();
 	
-	// A holder for each protection regen task
-	private static  Hashtable<BlockLocation, ProtectionRegenTask> protectionRegenTasks = new Hashtable<>();
+	// Protection regen tasks waiting to run, soonest first.
+	private static final PriorityQueue<ProtectionRegenTask> protectionRegenQueue = new PriorityQueue<>(Comparator.comparingLong(ProtectionRegenTask::getRegenTime));
+	
+	// The tasks still to run, by world and then by packed block position.
+	private static final Map<UUID, LongObjectHashMap<ProtectionRegenTask>> protectionRegenTasks = new ConcurrentHashMap<>();
+	private static int protectionRegenTaskCount = 0;
+	private static long protectionRegensRestored = 0;
 	
 	// List of protection blocks placed to prevent blockPhysics.
 	private static  Set<Block> protectionPlaceholders = new HashSet<>();
@@ -592,8 +604,12 @@ public class TownyRegenAPI {
 	 * @return true if the protectiontask was begun successfully. 
 	 */
 	public static boolean beginProtectionRegenTask(Block block, int count, TownyWorld world, Event event) {
+		// Don't let the queue grow without limit, these blocks are simply left exploded.
+		if (!hasRoomForProtectionRegenTasks(1))
+			return false;
+
 		// Don't interfere with an existing regen task
-		if (!hasProtectionRegenTask(new BlockLocation(block.getLocation()))) {
+		if (!hasProtectionRegenTask(block)) {
 			// Piston extensions which are broken by explosions ahead of the base block
 			// cause baseblocks to drop as items and no base block to be regenerated.
 			if (block.getType().equals(Material.PISTON_HEAD)) {
@@ -601,9 +617,8 @@ public class TownyRegenAPI {
 				Block baseBlock = block.getRelative(blockData.getFacing().getOppositeFace());
 				block = baseBlock;
 			}
-			ProtectionRegenTask task = new ProtectionRegenTask(Towny.getPlugin(), block);
-			task.setTaskId(Towny.getPlugin().getServer().getScheduler().scheduleSyncDelayedTask(Towny.getPlugin(), task, (TownySettings.getPlotManagementWildRegenDelay() + count) * 20));
-			addProtectionRegenTask(task);
+			long regenTime = System.currentTimeMillis() + (TownySettings.getPlotManagementWildRegenDelay() + count) * 1000;
+			addProtectionRegenTask(new ProtectionRegenTask(Towny.getPlugin(), block, regenTime));
 
 			// If this was a TownyExplodingBlocksEvent we want to get the bukkit event from it first.
 			if (event instanceof TownyExplodingBlocksEvent)
@@ -620,6 +635,20 @@ public class TownyRegenAPI {
 		return false;
 	}
 
+	/**
+	 * Whether this many more blocks can be queued for regen without going over
+	 * the wild_revert max_blocks setting. Explosion listeners check this once for
+	 * all of an explosion's blocks, so that an explosion is either regenerated
+	 * in full or left to drop its blocks as normal.
+	 * 
+	 * @param blocks - How many blocks are about to be queued.
+	 * @return true if there is room for them all.
+	 */
+	public static boolean hasRoomForProtectionRegenTasks(int blocks) {
+
+		return protectionRegenTaskCount + blocks <= TownySettings.getWildRegenMaxBlocks();
+	}
+
 	/**
 	 * Does a task for this block already exist?
 	 * 
@@ -628,8 +657,30 @@ public class TownyRegenAPI {
 	 */
 	public static boolean hasProtectionRegenTask(BlockLocation blockLocation) {
 
-		return protectionRegenTasks.containsKey(blockLocation);
+		return getProtectionRegenTask(blockLocation.getWorld(), blockLocation.getX(), blockLocation.getY(), blockLocation.getZ()) != null;
+
+	}
+
+	/**
+	 * Does a task for this block already exist?
+	 * 
+	 * @param block - The block
+	 * @return true if a task exists
+	 */
+	public static boolean hasProtectionRegenTask(Block block) {
+
+		return getProtectionRegenTask(block.getWorld(), block.getX(), block.getY(), block.getZ()) != null;
+	}
 
+	/**
+	 * Does a task for the block at this location already exist?
+	 * 
+	 * @param loc - Location of the block
+	 * @return true if a task exists
+	 */
+	public static boolean hasProtectionRegenTask(Location loc) {
+
+		return getProtectionRegenTask(loc.getWorld(), loc.getBlockX(), loc.getBlockY(), loc.getBlockZ()) != null;
 	}
 
 	/**
@@ -640,10 +691,21 @@ public class TownyRegenAPI {
 	 */
 	public static ProtectionRegenTask GetProtectionRegenTask(BlockLocation blockLocation) {
 
-		if (protectionRegenTasks.containsKey(blockLocation))
-			return protectionRegenTasks.get(blockLocation);
+		return getProtectionRegenTask(blockLocation.getWorld(), blockLocation.getX(), blockLocation.getY(), blockLocation.getZ());
+	}
 
-		return null;
+	private static ProtectionRegenTask getProtectionRegenTask(World world, int x, int y, int z) {
+
+		LongObjectHashMap<ProtectionRegenTask> worldTasks = protectionRegenTasks.get(world.getUID());
+		return worldTasks == null ? null : worldTasks.get(toBlockKey(x, y, z));
+	}
+
+	/**
+	 * Packs a block position into a long: 26 bits of x, 26 of z and 12 of y.
+	 */
+	private static long toBlockKey(int x, int y, int z) {
+
+		return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
 	}
 
 	/**
@@ -653,7 +715,11 @@ public class TownyRegenAPI {
 	 */
 	public static void addProtectionRegenTask(ProtectionRegenTask task) {
 
-		protectionRegenTasks.put(task.getBlockLocation(), task);
+		ProtectionRegenTask replaced = protectionRegenTasks.computeIfAbsent(task.getWorld().getUID(), k -> new LongObjectHashMap<>())
+			.put(toBlockKey(task.getX(), task.getY(), task.getZ()), task);
+		if (replaced == null)
+			protectionRegenTaskCount++;
+		protectionRegenQueue.add(task);
 	}
 
 	/**
@@ -663,21 +729,64 @@ public class TownyRegenAPI {
 	 */
 	public static void removeProtectionRegenTask(ProtectionRegenTask task) {
 
-		protectionRegenTasks.remove(task.getBlockLocation());
-		if (protectionRegenTasks.isEmpty())
+		// The task is left in the queue, which skips it once it comes up.
+		LongObjectHashMap<ProtectionRegenTask> worldTasks = protectionRegenTasks.get(task.getWorld().getUID());
+		if (worldTasks != null && worldTasks.get(toBlockKey(task.getX(), task.getY(), task.getZ())) == task) {
+			worldTasks.remove(toBlockKey(task.getX(), task.getY(), task.getZ()));
+			protectionRegenTaskCount--;
+		}
+		if (protectionRegenTaskCount == 0)
 			protectionPlaceholders.clear();
 	}
 
+	/**
+	 * Takes the next task off of the protection regen queue, if it is due.
+	 * 
+	 * @param now - Current time in epoch milliseconds.
+	 * @return the task to run, or null if none are due.
+	 */
+	public static ProtectionRegenTask pollDueProtectionRegenTask(long now) {
+
+		ProtectionRegenTask task;
+		while ((task = protectionRegenQueue.peek()) != null && task.getRegenTime() <= now) {
+			protectionRegenQueue.poll();
+			// Skip tasks which have been removed since they were queued.
+			if (getProtectionRegenTask(task.getWorld(), task.getX(), task.getY(), task.getZ()) == task) {
+				protectionRegensRestored++;
+				return task;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return how many exploded blocks are waiting to be put back.
+	 */
+	public static int getProtectionRegenQueueSize() {
+
+		return protectionRegenTaskCount;
+	}
+
+	/**
+	 * @return how many exploded blocks have been put back since the server started.
+	 */
+	public static long getProtectionRegensRestored() {
+
+		return protectionRegensRestored;
+	}
+
 	/**
 	 * Cancel all regenerating tasks and clear all queues.
 	 */
 	public static void cancelProtectionRegenTasks() {
 
-		for (ProtectionRegenTask task : protectionRegenTasks.values()) {
-			BukkitTools.getServer().getScheduler().cancelTask(task.getTaskId());
+		ProtectionRegenTask task;
+		while ((task = pollDueProtectionRegenTask(Long.MAX_VALUE)) != null)
 			task.replaceProtections();
-		}
+
+		protectionRegenQueue.clear();
 		protectionRegenTasks.clear();
+		protectionRegenTaskCount = 0;
 		protectionPlaceholders.clear();
 	}
 
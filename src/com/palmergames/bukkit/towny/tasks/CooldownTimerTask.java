@@ -1,67 +1,126 @@
 package com.palmergames.bukkit.towny.tasks;
 
-import java.util.AbstractMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntSupplier;
+
 import com.palmergames.bukkit.towny.Towny;
 import com.palmergames.bukkit.towny.TownySettings;
 
+/**
+ * Keeps track of cooldowns, such as the time a town has to wait before
+ * toggling pvp again.
+ *
+ * Cooldowns are grouped by type. Every cooldown of a type lasts as long, so
+ * each type's cooldowns expire in the order they were added and are queued
+ * in that order: the timer only ever looks at the head of each queue, however
+ * many cooldowns are running. Lookups check the expiry themselves, so a
+ * cooldown ends on time even if the timer has yet to clear it.
+ *
+ * Plugins can run their own cooldowns by passing their own type name to the
+ * methods taking a String type.
+ */
 public class CooldownTimerTask extends TownyTimerTask {
-	
-	private static ConcurrentHashMap<AbstractMap.SimpleEntry<String, CooldownType>, Long> cooldowns;	
 
+	private static final Map<String, Cooldowns> cooldowns = new ConcurrentHashMap<>();
 
 	public enum CooldownType{
-		PVP(TownySettings.getPVPCoolDownTime()),
-		TELEPORT(TownySettings.getSpawnCooldownTime());
-		
-		private final int seconds;
-		
+		PVP(TownySettings::getPVPCoolDownTime),
+		TELEPORT(TownySettings::getSpawnCooldownTime);
+
+		private final IntSupplier seconds;
+
 		private int getSeconds() {
-			return seconds;
+			return seconds.getAsInt();
+		}
+
+		public String getTypeName() {
+			return name().toLowerCase(Locale.ROOT);
 		}
 
-		CooldownType(int seconds) {
+		CooldownType(IntSupplier seconds) {
 			this.seconds = seconds;
 		}
-		
+
+	}
+
+	private record Expiry(String object, long time) {}
+
+	private static class Cooldowns {
+		private final Map<String, Long> expiries = new ConcurrentHashMap<>();
+		private final Queue<Expiry> queue = new ConcurrentLinkedQueue<>();
+
+		private void add(String object, long time) {
+			expiries.put(object, time);
+			queue.add(new Expiry(object, time));
+		}
+
+		private long getExpiry(String object, long now) {
+			Long time = expiries.get(object);
+			return time == null || time <= now ? 0 : time;
+		}
+
+		private void expire(long now) {
+			Expiry head;
+			while ((head = queue.peek()) != null && head.time() <= now) {
+				queue.poll();
+				// Only remove the cooldown if it hasn't been restarted since.
+				expiries.remove(head.object(), head.time());
+			}
+		}
 	}
 
 	public CooldownTimerTask(Towny plugin) {
 
 		super(plugin);
-		cooldowns = new ConcurrentHashMap<>();
+		cooldowns.clear();
 	}
 
 	@Override
 	public void run() {
 		long currentTime = System.currentTimeMillis();
 
-		while (!cooldowns.isEmpty()) {
-			for (AbstractMap.SimpleEntry<String, CooldownType> map : cooldowns.keySet()) {
-				long time = cooldowns.get(map);
-				if (time < currentTime)					
-					cooldowns.remove(map);
-			}
-			break;
-		}
+		for (Cooldowns typeCooldowns : cooldowns.values())
+			typeCooldowns.expire(currentTime);
 	}
-	
+
 	public static void addCooldownTimer(String object, CooldownType type) {
-		AbstractMap.SimpleEntry<String, CooldownType> map = new AbstractMap.SimpleEntry<String, CooldownTimerTask.CooldownType>(object, type);		
-		cooldowns.put(map, (System.currentTimeMillis() + (type.getSeconds() * 1000)));
+		addCooldownTimer(object, type.getTypeName(), type.getSeconds());
 	}
-	
+
+	/**
+	 * Starts, or restarts, a cooldown of a type not known to Towny.
+	 *
+	 * @param object Name of the thing which is cooling down, ie: a resident's name.
+	 * @param type Name of the type of cooldown, which should be unique to the plugin using it.
+	 * @param seconds How long the cooldown lasts, should be the same every time for a type.
+	 */
+	public static void addCooldownTimer(String object, String type, int seconds) {
+		cooldowns.computeIfAbsent(type, k -> new Cooldowns()).add(object, System.currentTimeMillis() + seconds * 1000L);
+	}
+
 	public static boolean hasCooldown(String object, CooldownType type) {
-		AbstractMap.SimpleEntry<String, CooldownType> map = new AbstractMap.SimpleEntry<String, CooldownTimerTask.CooldownType>(object, type);
-		if (cooldowns.containsKey(map))			
-			return true;
-		return false;
+		return hasCooldown(object, type.getTypeName());
 	}
-	
+
+	public static boolean hasCooldown(String object, String type) {
+		return getExpiry(object, type) != 0;
+	}
+
 	public static int getCooldownRemaining(String object, CooldownType type) {
-		AbstractMap.SimpleEntry<String, CooldownType> map = new AbstractMap.SimpleEntry<String, CooldownTimerTask.CooldownType>(object, type);
-		if (cooldowns.containsKey(map))
-			return (int) ((cooldowns.get(map) - System.currentTimeMillis())/1000);
-		return 0;		
+		return getCooldownRemaining(object, type.getTypeName());
+	}
+
+	public static int getCooldownRemaining(String object, String type) {
+		long expiry = getExpiry(object, type);
+		return expiry == 0 ? 0 : (int) ((expiry - System.currentTimeMillis()) / 1000);
+	}
+
+	private static long getExpiry(String object, String type) {
+		Cooldowns typeCooldowns = cooldowns.get(type);
+		return typeCooldowns == null ? 0 : typeCooldowns.getExpiry(object, System.currentTimeMillis());
 	}
 }
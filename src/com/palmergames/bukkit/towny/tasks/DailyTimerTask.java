@@ -125,7 +125,7 @@ public class DailyTimerTask extends TownyTimerTask {
 		TownyMessaging.sendDebugMsg("    Towns: " + universe.getTowns().size());
 		TownyMessaging.sendDebugMsg("    Nations: " + universe.getNumNations());
 		for (TownyWorld world : universe.getDataSource().getWorlds())
-			TownyMessaging.sendDebugMsg("    " + world.getName() + " (townblocks): " + universe.getTownBlocks().size());
+			TownyMessaging.sendDebugMsg("    " + world.getName() + " (townblocks): " + world.getTownBlockCount());
 
 		TownyMessaging.sendDebugMsg("Memory (Java Heap):");
 		TownyMessaging.sendDebugMsg(String.format("%8d Mb (max)", Runtime.getRuntime().maxMemory() / 1024 / 1024));
@@ -317,7 +317,7 @@ public class DailyTimerTask extends TownyTimerTask {
 				 */
 				if (universe.hasResident(resident.getName())) {
 
-					if (TownyPerms.getResidentPerms(resident).containsKey("towny.tax_exempt") || resident.isNPC() || resident.isMayor()) {
+					if (TownyPerms.hasTownyPerm(resident, "towny.tax_exempt") || resident.isNPC() || resident.isMayor()) {
 						TownyMessaging.sendMsg(resident, Translatable.of("msg_tax_exempt"));
 						continue;
 					} else if (town.isTaxPercentage()) {
@@ -382,7 +382,7 @@ public class DailyTimerTask extends TownyTimerTask {
 			 */
 			if (universe.hasResident(resident.getName())) {
 				if (resident.hasTown() && resident.getTownOrNull() == town)
-					if (TownyPerms.getResidentPerms(resident).containsKey("towny.tax_exempt") || resident.isNPC())
+					if (TownyPerms.hasTownyPerm(resident, "towny.tax_exempt") || resident.isNPC())
 						continue;
 
 				// If the tax would put the town over the bank cap we reduce what will be
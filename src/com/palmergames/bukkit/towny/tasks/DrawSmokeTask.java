@@ -1,19 +1,40 @@
 package com.palmergames.bukkit.towny.tasks;
 
-import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
+import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.entity.Player;
 
 import com.palmergames.bukkit.towny.Towny;
 import com.palmergames.bukkit.towny.object.CellBorder;
+import com.palmergames.bukkit.towny.object.CellSurface;
 import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.utils.BorderUtil;
 import com.palmergames.bukkit.util.BukkitTools;
 import com.palmergames.bukkit.util.DrawSmokeTaskFactory;
+import com.palmergames.util.LongObjectHashMap;
 
+/**
+ * Draws the border of the plot each player with the constantplotborder mode is standing in.
+ *
+ * The surface along a cell's edges is read once and shared by everyone
+ * standing in that cell, until a block on an edge changes or it is
+ * {@value #SURFACE_TIMEOUT_SECONDS} seconds old. Runs on the main thread, as
+ * reading the surface has to.
+ */
 public class DrawSmokeTask extends TownyTimerTask{
 
+	// Catches the changes to the surface no event reports, such as growing trees and flowing water.
+	private static final long SURFACE_TIMEOUT_SECONDS = 30;
+
+	// Surfaces of the cells somebody was standing in on the last run, by world.
+	private static Map<UUID, LongObjectHashMap<CellSurface>> surfaces = new HashMap<>();
+
 	public DrawSmokeTask(Towny plugin) {
 
 		super(plugin);
@@ -21,15 +42,49 @@ public class DrawSmokeTask extends TownyTimerTask{
 
 	@Override
 	public void run() {
-		
-		Collection<? extends Player> players = BukkitTools.getOnlinePlayers();
-		
-		for (Player player: players) {
+
+		long oldest = System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(SURFACE_TIMEOUT_SECONDS);
+		// Only the cells which are still being viewed are carried over.
+		Map<UUID, LongObjectHashMap<CellSurface>> viewed = new HashMap<>();
+
+		for (Player player: BukkitTools.getOnlinePlayers()) {
 			if (plugin.hasPlayerMode(player, "constantplotborder")) {
-				WorldCoord wc = new WorldCoord(player.getWorld().getName(), Coord.parseCoord(player.getLocation()));
-				CellBorder cellBorder = BorderUtil.getPlotBorder(wc);
-				cellBorder.runBorderedOnSurface(1, 2, DrawSmokeTaskFactory.sendToPlayer(player));
+				World world = player.getWorld();
+				Coord coord = Coord.parseCoord(player.getLocation());
+				long key = Coord.toKey(coord.getX(), coord.getZ());
+
+				LongObjectHashMap<CellSurface> worldViewed = viewed.computeIfAbsent(world.getUID(), k -> new LongObjectHashMap<>());
+				CellSurface surface = worldViewed.get(key);
+				if (surface == null) {
+					LongObjectHashMap<CellSurface> worldSurfaces = surfaces.get(world.getUID());
+					surface = worldSurfaces == null ? null : worldSurfaces.get(key);
+					if (surface == null || surface.getScannedAt() < oldest)
+						surface = CellSurface.scan(world, coord.getX(), coord.getZ());
+					worldViewed.put(key, surface);
+				}
+
+				CellBorder cellBorder = BorderUtil.getPlotBorder(new WorldCoord(world.getName(), coord));
+				cellBorder.runBorderedOnSurface(surface, 1, 2, DrawSmokeTaskFactory.sendToPlayerByDistance(player));
 			}
 		}
-	}	
+		surfaces = viewed;
+	}
+
+	/**
+	 * Forgets the surface of the cell the block is in if the block is on the
+	 * cell's edge, so that the border is drawn at the new surface.
+	 *
+	 * @param block Block which was placed or broken.
+	 */
+	public static void invalidateSurface(Block block) {
+		LongObjectHashMap<CellSurface> worldSurfaces = surfaces.get(block.getWorld().getUID());
+		if (worldSurfaces == null)
+			return;
+
+		int size = Coord.getCellSize();
+		int x = Math.floorMod(block.getX(), size);
+		int z = Math.floorMod(block.getZ(), size);
+		if (x == 0 || z == 0 || x == size - 1 || z == size - 1)
+			worldSurfaces.remove(Coord.toKey(Coord.toCell(block.getX()), Coord.toCell(block.getZ())));
+	}
 }
@@ -2,15 +2,62 @@ package com.palmergames.bukkit.towny.tasks;
 
 import com.palmergames.bukkit.towny.Towny;
 import com.palmergames.bukkit.towny.TownyUniverse;
+import com.palmergames.bukkit.towny.object.Coord;
+import com.palmergames.bukkit.towny.object.SpawnPoint;
+import com.palmergames.bukkit.util.BukkitTools;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Draws the particle rings of the spawn points which somebody is close enough to see.
+ *
+ * The spawn points near each online player are looked up by cell, so the
+ * cost follows the number of players rather than the number of spawns.
+ */
 public class DrawSpawnPointsTask extends TownyTimerTask {
+
+	// Particles are only sent to players within this many blocks.
+	private static final int VIEW_DISTANCE = 32;
+
 	public DrawSpawnPointsTask(Towny plugin) {
 		super(plugin);
 	}
 
 	@Override
 	public void run() {
-		TownyUniverse.getInstance().getSpawnPoints().values().stream()
-			.forEach(spawn -> spawn.drawParticle());
+		Set<SpawnPoint> visible = new LinkedHashSet<>();
+		TownyUniverse universe = TownyUniverse.getInstance();
+		int radius = VIEW_DISTANCE / Coord.getCellSize() + 1;
+
+		for (Player player : BukkitTools.getOnlinePlayers()) {
+			Location loc = player.getLocation();
+			String worldName = loc.getWorld().getName();
+			int cellX = Coord.toCell(loc.getBlockX());
+			int cellZ = Coord.toCell(loc.getBlockZ());
+
+			for (int x = cellX - radius; x <= cellX + radius; x++)
+				for (int z = cellZ - radius; z <= cellZ + radius; z++)
+					for (SpawnPoint spawn : universe.getSpawnPointsInCell(worldName, x, z))
+						if (spawn.getBukkitLocation().distanceSquared(loc) <= VIEW_DISTANCE * VIEW_DISTANCE)
+							visible.add(spawn);
+		}
+
+		if (visible.isEmpty())
+			return;
+
+		// Draw the rings a particle at a time, one step for all of the visible spawns at once.
+		for (int i = 0; i < SpawnPoint.getRingSize(); i++) {
+			final int point = i;
+			BukkitTools.scheduleSyncDelayedTask(() -> {
+				for (SpawnPoint spawn : visible) {
+					Location loc = spawn.getBukkitLocation();
+					if (loc.getWorld() != null && loc.getWorld().isChunkLoaded(loc.getBlockX() >> 4, loc.getBlockZ() >> 4))
+						spawn.drawRingPoint(point);
+				}
+			}, i * 4L);
+		}
 	}
 }
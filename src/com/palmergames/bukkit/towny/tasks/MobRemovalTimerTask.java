@@ -4,30 +4,57 @@ import com.palmergames.bukkit.towny.Towny;
 import com.palmergames.bukkit.towny.TownyAPI;
 import com.palmergames.bukkit.towny.TownySettings;
 import com.palmergames.bukkit.towny.event.MobRemovalEvent;
+import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.TownyWorld;
 import com.palmergames.bukkit.towny.utils.EntityTypeUtil;
+import com.palmergames.util.TimeTools;
 
 import net.citizensnpcs.api.CitizensAPI;
 
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Server;
 import org.bukkit.World;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.EntityType;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Rabbit;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.List;
-
+import java.util.Map;
+
+/**
+ * Removes the mobs which aren't allowed where they are.
+ *
+ * Runs every tick, checking a share of the loaded chunks each time so that a
+ * full pass over them takes the configured mob removal speed. Whether a type
+ * of entity is on each removal list is only worked out the first time the
+ * type is seen.
+ */
 public class MobRemovalTimerTask extends TownyTimerTask {
 
 	private final Server server;
 	public static List<Class<?>> classesOfWorldMobsToRemove = new ArrayList<>();
 	public static List<Class<?>> classesOfWildernessMobsToRemove = new ArrayList<>();
 	public static List<Class<?>> classesOfTownMobsToRemove = new ArrayList<>();
+	private static final Map<EntityType, Boolean> worldMobVerdicts = new EnumMap<>(EntityType.class);
+	private static final Map<EntityType, Boolean> wildernessMobVerdicts = new EnumMap<>(EntityType.class);
+	private static final Map<EntityType, Boolean> townMobVerdicts = new EnumMap<>(EntityType.class);
 	private final boolean isRemovingKillerBunny;
 
+	private record PendingChunk(World world, TownyWorld townyWorld, int x, int z) {}
+
+	// How many ticks a pass over the loaded chunks is spread over.
+	private final long passTicks;
+	private final Deque<PendingChunk> pendingChunks = new ArrayDeque<>();
+	private int chunksPerTick;
+	private long ticksUntilNextPass = 0;
+
 	public MobRemovalTimerTask(Towny plugin, Server server) {
 
 		super(plugin);
@@ -36,25 +63,70 @@ public class MobRemovalTimerTask extends TownyTimerTask {
 		classesOfWorldMobsToRemove = EntityTypeUtil.parseLivingEntityClassNames(TownySettings.getWorldMobRemovalEntities(), "WorldMob: ");
 		classesOfWildernessMobsToRemove = EntityTypeUtil.parseLivingEntityClassNames(TownySettings.getWildernessMobRemovalEntities(),"WildernessMob: ");
 		classesOfTownMobsToRemove = EntityTypeUtil.parseLivingEntityClassNames(TownySettings.getTownMobRemovalEntities(), "TownMob: ");
+		worldMobVerdicts.clear();
+		wildernessMobVerdicts.clear();
+		townMobVerdicts.clear();
 		isRemovingKillerBunny = TownySettings.isRemovingKillerBunny();
+		passTicks = Math.max(1, TimeTools.convertToTicks(TownySettings.getMobRemovalSpeed()));
 	}
 
 	public static boolean isRemovingWorldEntity(LivingEntity livingEntity) {
-		return EntityTypeUtil.isInstanceOfAny(classesOfWorldMobsToRemove, livingEntity);
+		return isOnRemovalList(worldMobVerdicts, classesOfWorldMobsToRemove, livingEntity);
 	}
-	
+
 	public static boolean isRemovingWildernessEntity(LivingEntity livingEntity) {
-		return  EntityTypeUtil.isInstanceOfAny(classesOfWildernessMobsToRemove, livingEntity);
+		return isOnRemovalList(wildernessMobVerdicts, classesOfWildernessMobsToRemove, livingEntity);
 	}
 
 	public static boolean isRemovingTownEntity(LivingEntity livingEntity) {
-		return EntityTypeUtil.isInstanceOfAny(classesOfTownMobsToRemove, livingEntity);
+		return isOnRemovalList(townMobVerdicts, classesOfTownMobsToRemove, livingEntity);
+	}
+
+	private static boolean isOnRemovalList(Map<EntityType, Boolean> verdicts, List<Class<?>> classes, LivingEntity livingEntity) {
+		EntityType type = livingEntity.getType();
+		// Entities added by mods can all share the UNKNOWN type, so they are checked one by one.
+		if (type == EntityType.UNKNOWN)
+			return EntityTypeUtil.isInstanceOfAny(classes, livingEntity);
+
+		Boolean verdict = verdicts.get(type);
+		if (verdict == null) {
+			verdict = EntityTypeUtil.isInstanceOfAny(classes, livingEntity);
+			verdicts.put(type, verdict);
+		}
+		return verdict;
 	}
 
 	@Override
 	public void run() {
+		if (ticksUntilNextPass > 0)
+			ticksUntilNextPass--;
+
+		if (pendingChunks.isEmpty()) {
+			if (ticksUntilNextPass > 0)
+				return;
+			startPass();
+		}
+
 		// Build a list of mobs to be removed
 		List<LivingEntity> livingEntitiesToRemove = new ArrayList<>();
+		for (int i = 0; i < chunksPerTick && !pendingChunks.isEmpty(); i++)
+			checkChunk(pendingChunks.poll(), livingEntitiesToRemove);
+
+		MobRemovalEvent mobRemovalEvent;
+		for (LivingEntity livingEntity : livingEntitiesToRemove) {
+			mobRemovalEvent = new MobRemovalEvent(livingEntity);
+			plugin.getServer().getPluginManager().callEvent(mobRemovalEvent);
+			if (!mobRemovalEvent.isCancelled()) {
+				livingEntity.remove();
+			}
+		}
+	}
+
+	/**
+	 * Queues up the chunks loaded right now, to be checked over the next {@link #passTicks} ticks.
+	 */
+	private void startPass() {
+		ticksUntilNextPass = passTicks;
 
 		for (World world : server.getWorlds()) {
 			// Filter worlds not using towny.
@@ -69,65 +141,82 @@ public class MobRemovalTimerTask extends TownyTimerTask {
 			if (townyWorld.isForceTownMobs() && townyWorld.hasWorldMobs())
 				continue;
 
-			for (LivingEntity livingEntity : world.getLivingEntities()) {
-				Location livingEntityLoc = livingEntity.getLocation();
-				if (!world.isChunkLoaded(livingEntityLoc.getBlockX() >> 4, livingEntityLoc.getBlockZ() >> 4))
-					continue;
+			for (Chunk chunk : world.getLoadedChunks())
+				pendingChunks.add(new PendingChunk(world, townyWorld, chunk.getX(), chunk.getZ()));
+		}
+		chunksPerTick = (int) ((pendingChunks.size() + passTicks - 1) / passTicks);
+	}
 
-				// Check if entity is a Citizens NPC
-				if (plugin.isCitizens2()) {
-					if (CitizensAPI.getNPCRegistry().isNPC(livingEntity))
-						continue;
-				}
-				
-				// Handles entities Globally.
-				if (!townyWorld.hasWorldMobs() && isRemovingWorldEntity(livingEntity)) {
-					livingEntitiesToRemove.add(livingEntity);
-					continue;
-				}
-				
-				// Handles entities in the wilderness.
-				if (TownyAPI.getInstance().isWilderness(livingEntityLoc)) {
-					if (townyWorld.hasWildernessMobs())
-						continue;
-					if (!isRemovingWildernessEntity(livingEntity))
-						continue;
-					
-					livingEntitiesToRemove.add(livingEntity);
+	private void checkChunk(PendingChunk chunk, List<LivingEntity> livingEntitiesToRemove) {
+		World world = chunk.world();
+		// The chunk may have unloaded since the pass started.
+		if (!world.isChunkLoaded(chunk.x(), chunk.z()))
+			return;
+
+		TownyWorld townyWorld = chunk.townyWorld();
+		Location livingEntityLoc = new Location(world, 0, 0, 0);
+		// A chunk is usually inside of a single cell, so the townblock is only looked up again when the cell changes.
+		boolean hasCell = false;
+		int cellX = 0;
+		int cellZ = 0;
+		TownBlock townBlock = null;
+
+		for (Entity entity : world.getChunkAt(chunk.x(), chunk.z()).getEntities()) {
+			if (!(entity instanceof LivingEntity livingEntity))
+				continue;
+
+			// Check if entity is a Citizens NPC
+			if (plugin.isCitizens2()) {
+				if (CitizensAPI.getNPCRegistry().isNPC(livingEntity))
 					continue;
-				}
+			}
 
-				// The entity is inside of a town.
-				TownBlock townBlock = TownyAPI.getInstance().getTownBlock(livingEntityLoc);
+			// Handles entities Globally.
+			if (!townyWorld.hasWorldMobs() && isRemovingWorldEntity(livingEntity)) {
+				livingEntitiesToRemove.add(livingEntity);
+				continue;
+			}
 
-				// Check if mobs are always allowed inside towns in this world.
-				if (townyWorld.isForceTownMobs() || townBlock.getPermissions().mobs)
-					continue;
+			livingEntity.getLocation(livingEntityLoc);
+			int x = Coord.toCell(livingEntityLoc.getBlockX());
+			int z = Coord.toCell(livingEntityLoc.getBlockZ());
+			if (!hasCell || x != cellX || z != cellZ) {
+				hasCell = true;
+				cellX = x;
+				cellZ = z;
+				townBlock = townyWorld.getTownBlockOrNull(x, z);
+			}
 
-				// Check that Towny is removing this type of entity inside towns.
-				if (!isRemovingTownEntity(livingEntity))
+			// Handles entities in the wilderness.
+			if (townBlock == null || !townBlock.hasTown()) {
+				if (townyWorld.hasWildernessMobs())
 					continue;
-
-				if (TownySettings.isSkippingRemovalOfNamedMobs() && livingEntity.getCustomName() != null)
+				if (!isRemovingWildernessEntity(livingEntity))
 					continue;
 
-				// Special check if it's a rabbit, for the Killer Bunny variant.
-				if (livingEntity.getType().equals(EntityType.RABBIT))
-					if (isRemovingKillerBunny && ((Rabbit) livingEntity).getRabbitType().equals(Rabbit.Type.THE_KILLER_BUNNY)) {
-						livingEntitiesToRemove.add(livingEntity);							
-						continue;						
-					}
-				
 				livingEntitiesToRemove.add(livingEntity);
+				continue;
 			}
-		}
-		MobRemovalEvent mobRemovalEvent;
-		for (LivingEntity livingEntity : livingEntitiesToRemove) {
-			mobRemovalEvent = new MobRemovalEvent(livingEntity);
-			plugin.getServer().getPluginManager().callEvent(mobRemovalEvent);
-			if (!mobRemovalEvent.isCancelled()) {
-				livingEntity.remove();
-			}
+
+			// Check if mobs are always allowed inside towns in this world.
+			if (townyWorld.isForceTownMobs() || townBlock.getPermissions().mobs)
+				continue;
+
+			// Check that Towny is removing this type of entity inside towns.
+			if (!isRemovingTownEntity(livingEntity))
+				continue;
+
+			if (TownySettings.isSkippingRemovalOfNamedMobs() && livingEntity.getCustomName() != null)
+				continue;
+
+			// Special check if it's a rabbit, for the Killer Bunny variant.
+			if (livingEntity.getType().equals(EntityType.RABBIT))
+				if (isRemovingKillerBunny && ((Rabbit) livingEntity).getRabbitType().equals(Rabbit.Type.THE_KILLER_BUNNY)) {
+					livingEntitiesToRemove.add(livingEntity);
+					continue;
+				}
+
+			livingEntitiesToRemove.add(livingEntity);
 		}
 	}
 }
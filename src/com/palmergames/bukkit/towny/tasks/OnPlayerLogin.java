@@ -143,6 +143,7 @@ public class OnPlayerLogin implements Runnable {
 			if (resident.hasTown()) {
 				Town town = resident.getTownOrNull();
 				Nation nation = resident.getNationOrNull();
+				town.addOnlinePlayer(player);
 				
 				if (TownySettings.getShowTownBoardOnLogin() && !town.getBoard().isEmpty())
 					TownyMessaging.sendTownBoard(player, town);
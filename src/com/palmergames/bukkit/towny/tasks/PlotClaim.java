@@ -21,6 +21,7 @@ import org.bukkit.entity.Player;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -63,6 +64,7 @@ public class PlotClaim extends Thread {
 	public void run() {
 		
 		int claimed = 0;
+		List<WorldCoord> unclaimedAll = Collections.emptyList();
 
 		if (player != null){
 			if (claim)
@@ -161,7 +163,7 @@ public class PlotClaim extends Thread {
 
 			}
 		} else if (!claim) {
-			residentUnclaimAll();
+			unclaimedAll = residentUnclaimAll();
 		}
 
 		if (player != null) {
@@ -181,7 +183,9 @@ public class PlotClaim extends Thread {
 		}
 		
 		resident.save();
-		plugin.resetCache();
+
+		// Only the caches of players standing in the plots are affected.
+		plugin.updateCaches(selection != null ? selection : unclaimedAll);
 
 	}
 
@@ -244,9 +248,6 @@ public class PlotClaim extends Thread {
 						if (i >= worldCoords.size() - 2) {
 							TownyMessaging.sendPrefixedTownMessage(town, Translatable.of("msg_player_successfully_bought_group_x", resident.getName(), group.getName()));
 						}
-
-						// Update any caches for this WorldCoord
-						plugin.updateCache(worldCoord);
 					} else if (player.hasPermission(PermissionNodes.TOWNY_COMMAND_PLOT_ASMAYOR.getNode())) {
 						//Plot isn't for sale but re-possessing for town.
 
@@ -332,8 +333,6 @@ public class PlotClaim extends Thread {
 					owner.save();
 					townBlock.save();
 
-					// Update any caches for this WorldCoord
-					plugin.updateCache(worldCoord);
 					return true;
 				} else if (player.hasPermission(PermissionNodes.TOWNY_COMMAND_PLOT_ASMAYOR.getNode())) {
 					//Plot isn't for sale but re-possessing for town.
@@ -399,8 +398,6 @@ public class PlotClaim extends Thread {
 			townBlock.setType(townBlock.getType());
 			townBlock.save();
 
-			plugin.updateCache(worldCoord);
-
 		} catch (NotRegisteredException e) {
 			throw new TownyException(Translatable.of("msg_not_own_place"));
 		}
@@ -408,19 +405,25 @@ public class PlotClaim extends Thread {
 		return true;
 	}
 
-	private void residentUnclaimAll() {
+	/**
+	 * @return the WorldCoords of the resident's plots.
+	 */
+	private List<WorldCoord> residentUnclaimAll() {
 
-		List<TownBlock> selection = new ArrayList<>(resident.getTownBlocks());
+		List<WorldCoord> selection = new ArrayList<>();
+		for (TownBlock townBlock : resident.getTownBlocks())
+			selection.add(townBlock.getWorldCoord());
 
-		for (TownBlock townBlock : selection) {
+		for (WorldCoord worldCoord : selection) {
 			try {
-				residentUnclaim(townBlock.getWorldCoord());
+				residentUnclaim(worldCoord);
 			} catch (TownyException e) {
 				TownyMessaging.sendErrorMsg(player, e.getMessage(player));
 			}
 
 		}
 
+		return selection;
 	}
 
 	/**
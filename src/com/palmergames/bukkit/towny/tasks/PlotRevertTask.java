@@ -0,0 +1,77 @@
+package com.palmergames.bukkit.towny.tasks;
+
+import com.palmergames.bukkit.towny.Towny;
+import com.palmergames.bukkit.towny.TownyMessaging;
+import com.palmergames.bukkit.towny.TownySettings;
+import com.palmergames.bukkit.towny.regen.PlotBlockData;
+import com.palmergames.bukkit.towny.regen.TownyRegenAPI;
+import com.palmergames.util.TimeMgmt;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reverts unclaimed plots to their snapshots.
+ *
+ * Runs every tick and spends up to the configured millisecond budget changing
+ * blocks, working through the active plots in order so that each one finishes
+ * as soon as possible.
+ */
+public class PlotRevertTask extends TownyTimerTask {
+
+	// How often, in ticks, the progress of each revert is sent to the debug log.
+	private static final int PROGRESS_INTERVAL = 200;
+	// The most plots whose batch revert is started in one tick, each one snapshots the plot's chunks.
+	private static final int MAX_STARTS_PER_TICK = 4;
+
+	private int ticks = 0;
+
+	public PlotRevertTask(Towny plugin) {
+
+		super(plugin);
+	}
+
+	@Override
+	public void run() {
+
+		if (!TownyRegenAPI.hasActiveRegenerations())
+			return;
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(1, TownySettings.getPlotRevertBudget()));
+		boolean logProgress = ++ticks % PROGRESS_INTERVAL == 0 && TownyMessaging.isDebugging();
+		int starts = 0;
+
+		for (PlotBlockData plotBlockData : TownyRegenAPI.getActivePlotBlockDatas()) {
+			if (plotBlockData == null)
+				continue;
+
+			if (!plotBlockData.isBatchRevertSupported()) {
+				// Older snapshots are reverted the old way, a block at a time.
+				if (!plotBlockData.restoreNextBlock())
+					TownyRegenAPI.finishPlotBlockData(plotBlockData);
+				continue;
+			}
+
+			if (!plotBlockData.isBatchRevertStarted()) {
+				// Plots waiting on unloaded chunks, or past this tick's budget, are tried again next tick.
+				if (starts < MAX_STARTS_PER_TICK && System.nanoTime() < deadline && plotBlockData.areChunksLoaded()) {
+					plotBlockData.startBatchRevert();
+					starts++;
+				}
+				continue;
+			}
+
+			if (!plotBlockData.isBatchRevertReady())
+				continue;
+
+			if (System.nanoTime() < deadline && !plotBlockData.restoreBlocks(deadline)) {
+				TownyRegenAPI.finishPlotBlockData(plotBlockData);
+				continue;
+			}
+
+			if (logProgress)
+				TownyMessaging.sendDebugMsg(String.format("Revert on unclaim for %s %d,%d: %d%% (%d/%d blocks), %s remaining.",
+					plotBlockData.getWorldName(), plotBlockData.getX(), plotBlockData.getZ(), (int) (plotBlockData.getRevertProgress() * 100),
+					plotBlockData.getRevertDone(), plotBlockData.getRevertTotal(), TimeMgmt.getFormattedTimeValue(plotBlockData.getRevertEta())));
+		}
+	}
+}
@@ -0,0 +1,156 @@
+package com.palmergames.bukkit.towny.tasks;
+
+import com.palmergames.bukkit.towny.Towny;
+import com.palmergames.bukkit.towny.TownyMessaging;
+import com.palmergames.bukkit.towny.TownySettings;
+import com.palmergames.bukkit.towny.object.TownBlock;
+import com.palmergames.bukkit.towny.object.WorldCoord;
+import com.palmergames.bukkit.towny.regen.PlotBlockData;
+import com.palmergames.bukkit.towny.regen.TownyRegenAPI;
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes the revert-on-unclaim snapshots of newly claimed plots.
+ *
+ * Runs every tick, capturing ChunkSnapshots of queued plots until the
+ * configured millisecond budget is spent. Reading the blocks out of the
+ * snapshots, packing and saving them is done by a single async worker.
+ * A plot is only unlocked, back on the main thread, once its snapshot has
+ * been saved.
+ */
+public class PlotSnapshotTask extends TownyTimerTask {
+
+	// Captured plots which haven't been encoded yet, each holds its ChunkSnapshots in memory.
+	private static final int MAX_PENDING_ENCODES = 32;
+
+	private final Queue<CapturedPlot> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger pendingCount = new AtomicInteger();
+	private final AtomicBoolean encoding = new AtomicBoolean();
+	// Plots whose snapshot has been saved, waiting to be unlocked.
+	private final Queue<WorldCoord> encoded = new ConcurrentLinkedQueue<>();
+	// Plots captured but not unlocked yet, only used on the main thread.
+	private int unfinished = 0;
+
+	private record CapturedPlot(WorldCoord worldCoord, PlotBlockData plotChunk, Map<Long, ChunkSnapshot> chunks) {}
+
+	public PlotSnapshotTask(Towny plugin) {
+
+		super(plugin);
+	}
+
+	@Override
+	public void run() {
+
+		unlockEncoded();
+
+		if (!TownyRegenAPI.hasWorldCoords())
+			return;
+
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(1, TownySettings.getPlotSnapshotBudget()));
+		do {
+			// Let the encoder catch up before capturing more chunks.
+			if (pendingCount.get() >= MAX_PENDING_ENCODES)
+				break;
+
+			captureNextPlot();
+		} while (TownyRegenAPI.hasWorldCoords() && System.nanoTime() < deadline);
+
+		if (!pending.isEmpty() && encoding.compareAndSet(false, true))
+			Bukkit.getScheduler().runTaskAsynchronously(plugin, this::encodePending);
+	}
+
+	/**
+	 * Encodes and saves every plot captured so far on the calling thread, then
+	 * unlocks them. Called on the main thread once this task has been cancelled,
+	 * so that no captured plot is left locked without a snapshot.
+	 */
+	public void finish() {
+
+		while (encodeNext());
+		unlockEncoded();
+	}
+
+	private void captureNextPlot() {
+		WorldCoord wc = TownyRegenAPI.getWorldCoord();
+		TownBlock townBlock = wc.getTownBlockOrNull();
+		if (townBlock == null)
+			return;
+
+		PlotBlockData plotChunk = new PlotBlockData(townBlock);
+		pending.add(new CapturedPlot(wc, plotChunk, plotChunk.takeChunkSnapshots()));
+		pendingCount.incrementAndGet();
+		unfinished++;
+	}
+
+	/**
+	 * Unlocks the plots whose snapshot has been saved, run on the main thread.
+	 */
+	private void unlockEncoded() {
+		if (encoded.isEmpty())
+			return;
+
+		List<WorldCoord> unlocked = new ArrayList<>();
+		WorldCoord wc;
+		while ((wc = encoded.poll()) != null) {
+			unfinished--;
+
+			// The plot may have been unclaimed while its snapshot was being saved.
+			TownBlock townBlock = wc.getTownBlockOrNull();
+			if (townBlock == null)
+				continue;
+
+			townBlock.setLocked(false);
+			townBlock.save();
+			unlocked.add(wc);
+		}
+		plugin.updateCaches(unlocked);
+
+		if (unfinished == 0 && !TownyRegenAPI.hasWorldCoords())
+			TownyMessaging.sendDebugMsg("Plot snapshots completed.");
+	}
+
+	/**
+	 * Packs and saves every captured plot, run async.
+	 */
+	private void encodePending() {
+		do {
+			while (encodeNext());
+			encoding.set(false);
+			// Another plot may have been queued after the queue was seen empty but before the flag was cleared.
+		} while (!pending.isEmpty() && encoding.compareAndSet(false, true));
+	}
+
+	/**
+	 * Packs and saves the next captured plot. Synchronized so that
+	 * {@link #finish()} can't return while the worker is part way through a plot.
+	 *
+	 * @return false if there was no plot waiting.
+	 */
+	private synchronized boolean encodeNext() {
+		CapturedPlot captured = pending.poll();
+		if (captured == null)
+			return false;
+
+		pendingCount.decrementAndGet();
+		PlotBlockData plotChunk = captured.plotChunk();
+		try {
+			plotChunk.initialize(captured.chunks());
+			if (!plotChunk.getBlockList().isEmpty())
+				TownyRegenAPI.addPlotChunkSnapshot(plotChunk); // Save the snapshot.
+		} catch (RuntimeException e) {
+			TownyMessaging.sendErrorMsg("Could not snapshot plot " + plotChunk.getWorldName() + " " + plotChunk.getX() + "," + plotChunk.getZ() + ": " + e.getMessage());
+		}
+		encoded.add(captured.worldCoord());
+		return true;
+	}
+}
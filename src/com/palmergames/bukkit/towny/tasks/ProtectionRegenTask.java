@@ -4,39 +4,68 @@ import com.palmergames.bukkit.towny.Towny;
 import com.palmergames.bukkit.towny.regen.TownyRegenAPI;
 import com.palmergames.bukkit.towny.regen.block.BlockLocation;
 
+import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.block.Banner;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
 import org.bukkit.block.Chest;
 import org.bukkit.block.CreatureSpawner;
+import org.bukkit.block.TileState;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.entity.EntityType;
 import org.bukkit.inventory.BlockInventoryHolder;
 import org.bukkit.inventory.Inventory;
 import org.bukkit.inventory.ItemStack;
 
+/**
+ * An exploded block waiting to be put back, run by the {@link ProtectionRegenTimerTask}
+ * once its regen time has passed.
+ *
+ * Only the block's data is kept, unless it has a tile entity such as a chest,
+ * spawner or banner, in which case its whole state is.
+ */
 public class ProtectionRegenTask extends TownyTimerTask {
 
+	private final World world;
+	private final int x, y, z;
+	private final BlockData blockData;
 	private final BlockState state;
-	private BlockLocation blockLocation;
-	private int TaskId;
+	private final long regenTime;
 	private ItemStack[] contents;
 
 	public ProtectionRegenTask(Towny plugin, Block block) {
 
+		this(plugin, block, System.currentTimeMillis());
+	}
+
+	/**
+	 * @param plugin Towny.
+	 * @param block Block which is about to explode.
+	 * @param regenTime When to put the block back, in epoch milliseconds.
+	 */
+	public ProtectionRegenTask(Towny plugin, Block block, long regenTime) {
+
 		super(plugin);
-		this.state = block.getState();
-		this.setBlockLocation(new BlockLocation(block.getLocation()));
-		
+		this.world = block.getWorld();
+		this.x = block.getX();
+		this.y = block.getY();
+		this.z = block.getZ();
+		this.blockData = block.getBlockData();
+		this.regenTime = regenTime;
+
+		BlockState state = block.getState();
+		this.state = state instanceof TileState ? state : null;
+
 		// If the block has an inventory it implements the BlockInventoryHolder interface.
 		if (state instanceof BlockInventoryHolder) {
-			
+
 			// Cast the block to the interface representation.
 			BlockInventoryHolder container = (BlockInventoryHolder) state;
-			
+
 			// Capture inventory.
 			Inventory inventory = container.getInventory();
-			
+
 			// Chests are special.
 			if (state instanceof Chest) {
 				inventory = ((Chest) state).getBlockInventory();
@@ -44,7 +73,7 @@ public class ProtectionRegenTask extends TownyTimerTask {
 
 			// Copy the contents over.
 			contents = inventory.getContents().clone();
-			
+
 			// Clear the inventory so no items drops and causes dupes.
 			inventory.clear();
 		}
@@ -58,23 +87,25 @@ public class ProtectionRegenTask extends TownyTimerTask {
 	}
 
 	public void replaceProtections() {
-		
-		Block block = state.getBlock();
-		
+
+		Block block = getBlock();
+
 		// Replace physical block.
 		try {
-			BlockData blockData = state.getBlockData().clone();			
-			block.setType(state.getType(), false);
-			block.setBlockData(blockData);
+			block.setType(blockData.getMaterial(), false);
+			block.setBlockData(blockData.clone());
 		} catch (Exception ex) {
 			ex.printStackTrace();
 		}
-		
+
+		if (state == null)
+			return;
+
 		// If the state is a creature spawner, then replace properly.
 		if (state instanceof CreatureSpawner) {
 			// Up cast to interface.
 			CreatureSpawner spawner = (CreatureSpawner) state;
-			
+
 			// Capture spawn type and set it.
 			EntityType type = spawner.getSpawnedType();
 			((CreatureSpawner) state).setSpawnedType(type);
@@ -82,66 +113,101 @@ public class ProtectionRegenTask extends TownyTimerTask {
 			// update blocks.
 			state.update();
 		}
-		
+
 		// Add inventory back to the block if it conforms to BlockInventoryHolder.
 		if (state instanceof BlockInventoryHolder) {
 			// Up cast to interface.
 			BlockInventoryHolder container = (BlockInventoryHolder) state;
-			
+
 			// Check for chest.
 			if (container instanceof Chest) {
 				((Chest) state).getBlockInventory().setContents(contents);
 			} else {
 				((BlockInventoryHolder) state).getInventory().setContents(contents);
 			}
-			
+
 			// update blocks.
 			state.update();
 		}
-		
+
 		if (state instanceof Banner) {
 			Banner banner = (Banner) state;
-			
+
 			((Banner) state).setPatterns(banner.getPatterns());
-			
+
 			state.update();
 		}
 	}
 
+	public Block getBlock() {
+
+		return world.getBlockAt(x, y, z);
+	}
+
+	public World getWorld() {
+
+		return world;
+	}
+
+	public int getX() {
+
+		return x;
+	}
+
+	public int getY() {
+
+		return y;
+	}
+
+	public int getZ() {
+
+		return z;
+	}
+
 	/**
 	 * @return the blockLocation
 	 */
 	public BlockLocation getBlockLocation() {
 
-		return blockLocation;
+		return new BlockLocation(new Location(world, x, y, z));
 	}
 
-	/**
-	 * @param blockLocation the blockLocation to set
-	 */
-	private void setBlockLocation(BlockLocation blockLocation) {
+	public BlockData getBlockData() {
 
-		this.blockLocation = blockLocation;
+		return blockData;
 	}
 
+	/**
+	 * @return the captured state of a block with a tile entity, or null for any other block.
+	 */
 	public BlockState getState() {
 
 		return state;
 	}
 
+	/**
+	 * @return when the block will be put back, in epoch milliseconds.
+	 */
+	public long getRegenTime() {
+
+		return regenTime;
+	}
+
 	/**
 	 * @return the taskId
+	 * @deprecated Protection regen tasks are no longer scheduled one by one, this is always -1.
 	 */
+	@Deprecated
 	public int getTaskId() {
 
-		return TaskId;
+		return -1;
 	}
 
 	/**
 	 * @param taskId the taskId to set
+	 * @deprecated Protection regen tasks are no longer scheduled one by one, this does nothing.
 	 */
+	@Deprecated
 	public void setTaskId(int taskId) {
-
-		TaskId = taskId;
 	}
 }
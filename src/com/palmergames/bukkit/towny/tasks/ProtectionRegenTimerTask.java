@@ -0,0 +1,51 @@
+package com.palmergames.bukkit.towny.tasks;
+
+import com.palmergames.bukkit.towny.Towny;
+import com.palmergames.bukkit.towny.TownyMessaging;
+import com.palmergames.bukkit.towny.TownySettings;
+import com.palmergames.bukkit.towny.regen.TownyRegenAPI;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Puts back the blocks exploded in the wilderness once their regen time has
+ * passed.
+ *
+ * Runs every tick and spends up to the configured millisecond budget
+ * restoring the blocks which are due, soonest first. Anything left over is
+ * restored on the next tick.
+ */
+public class ProtectionRegenTimerTask extends TownyTimerTask {
+
+	// How often, in ticks, the queue length and restore rate are sent to the debug log.
+	private static final int PROGRESS_INTERVAL = 200;
+
+	private int ticks = 0;
+	private long restoredAtLastLog = 0;
+
+	public ProtectionRegenTimerTask(Towny plugin) {
+
+		super(plugin);
+	}
+
+	@Override
+	public void run() {
+
+		if (TownyRegenAPI.getProtectionRegenQueueSize() > 0) {
+			long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(1, TownySettings.getWildRegenBudget()));
+			long now = System.currentTimeMillis();
+
+			ProtectionRegenTask task;
+			while (System.nanoTime() < deadline && (task = TownyRegenAPI.pollDueProtectionRegenTask(now)) != null)
+				task.run();
+		}
+
+		if (++ticks % PROGRESS_INTERVAL == 0 && TownyMessaging.isDebugging()) {
+			long restored = TownyRegenAPI.getProtectionRegensRestored();
+			if (restored != restoredAtLastLog || TownyRegenAPI.getProtectionRegenQueueSize() > 0)
+				TownyMessaging.sendDebugMsg(String.format("Wilderness regen: %d blocks waiting, %.1f blocks/s restored.",
+					TownyRegenAPI.getProtectionRegenQueueSize(), (restored - restoredAtLastLog) * 20.0 / PROGRESS_INTERVAL));
+			restoredAtLastLog = restored;
+		}
+	}
+}
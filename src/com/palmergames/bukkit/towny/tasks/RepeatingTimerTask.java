@@ -2,7 +2,6 @@ package com.palmergames.bukkit.towny.tasks;
 
 import com.palmergames.bukkit.towny.Towny;
 import com.palmergames.bukkit.towny.TownyMessaging;
-import com.palmergames.bukkit.towny.TownySettings;
 import com.palmergames.bukkit.towny.object.TownBlock;
 import com.palmergames.bukkit.towny.object.WorldCoord;
 import com.palmergames.bukkit.towny.regen.PlotBlockData;
@@ -16,16 +15,9 @@ public class RepeatingTimerTask extends TownyTimerTask {
 		super(plugin);
 	}
 
-	private Long timerCounter = 0L;
-
 	@Override
 	public void run() {
 
-		// Perform a single block regen in each regen area, if any are left to do.
-		if (TownyRegenAPI.hasActiveRegenerations()) {
-			revertAnotherBlockToWilderness();
-		}
-
 		/*
 		  The following actions should be performed every second.
 		 */
@@ -35,29 +27,12 @@ public class RepeatingTimerTask extends TownyTimerTask {
 			getWorldCoordFromQueueForRegeneration();
 		}
 
-		// Take a snapshot of the next townBlock and save.
-		if (TownyRegenAPI.hasWorldCoords()) {
-			makeNextPlotSnapshot();
-		}
-
 		// Perform the next plot_management block_delete
 		if (TownyRegenAPI.hasDeleteTownBlockIdQueue()) {
 			TownyRegenAPI.doDeleteTownBlockIds(TownyRegenAPI.getDeleteTownBlockIdQueue());
 		}
 	}
 
-	private void revertAnotherBlockToWilderness() {
-		// only execute if the correct amount of time has passed.
-		if (Math.max(1L, TownySettings.getPlotManagementSpeed()) > ++timerCounter)
-			return;
-
-		for (PlotBlockData plotBlockData : TownyRegenAPI.getActivePlotBlockDatas())
-			if (plotBlockData != null && !plotBlockData.restoreNextBlock())
-				TownyRegenAPI.finishPlotBlockData(plotBlockData);
-
-		timerCounter = 0L;
-	}
-
 	private void getWorldCoordFromQueueForRegeneration() {
 		for (WorldCoord wc : new ArrayList<>(TownyRegenAPI.getRegenQueueList())) {
 			// We have enough plot chunks regenerating, break out of the loop.
@@ -77,23 +52,4 @@ public class RepeatingTimerTask extends TownyTimerTask {
 		}
 	}
 
-	private void makeNextPlotSnapshot() {
-		WorldCoord wc = TownyRegenAPI.getWorldCoord();
-		TownBlock townBlock = wc.getTownBlockOrNull();
-		if (townBlock == null)
-			return;
-		PlotBlockData plotChunk = new PlotBlockData(townBlock);
-		plotChunk.initialize(); // Create a new snapshot.
-		if (!plotChunk.getBlockList().isEmpty() && !(plotChunk.getBlockList() == null))
-			TownyRegenAPI.addPlotChunkSnapshot(plotChunk); // Save the snapshot.
-		plotChunk = null;
-		
-		townBlock.setLocked(false);
-		townBlock.save();
-		plugin.updateCache(townBlock.getWorldCoord());
-
-		if (!TownyRegenAPI.hasWorldCoords())
-			TownyMessaging.sendDebugMsg("Plot snapshots completed.");
-	}
-
 }
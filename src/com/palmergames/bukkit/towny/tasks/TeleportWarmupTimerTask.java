@@ -5,6 +5,7 @@ import com.palmergames.bukkit.towny.TownyAPI;
 import com.palmergames.bukkit.towny.TownyEconomyHandler;
 import com.palmergames.bukkit.towny.TownyMessaging;
 import com.palmergames.bukkit.towny.TownySettings;
+import com.palmergames.bukkit.towny.TownyUniverse;
 import com.palmergames.bukkit.towny.object.Resident;
 import com.palmergames.bukkit.towny.object.Translatable;
 import com.palmergames.bukkit.towny.object.Translation;
@@ -18,6 +19,9 @@ import org.bukkit.event.player.PlayerTeleportEvent.TeleportCause;
 
 import java.util.ArrayDeque;
 import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author dumptruckman
@@ -25,11 +29,14 @@ import java.util.Queue;
 public class TeleportWarmupTimerTask extends TownyTimerTask {
 
 	private static Queue<Resident> teleportQueue;
+	// Residents whose teleport is cancelled by moving, so that player moves don't have to check for them.
+	private static final Set<UUID> cancelledByMovement = ConcurrentHashMap.newKeySet();
 
 	public TeleportWarmupTimerTask(Towny plugin) {
 
 		super(plugin);
 		teleportQueue = new ArrayDeque<>();
+		cancelledByMovement.clear();
 	}
 
 	@Override
@@ -43,6 +50,8 @@ public class TeleportWarmupTimerTask extends TownyTimerTask {
 				break;
 			if (currentTime > resident.getTeleportRequestTime() + (TownySettings.getTeleportWarmupTime() * 1000)) {
 				resident.clearTeleportRequest();
+				if (resident.getUUID() != null)
+					cancelledByMovement.remove(resident.getUUID());
 				
 				Player p = TownyAPI.getInstance().getPlayer(resident);
 				// Only teleport & add cooldown if player is valid
@@ -63,6 +72,14 @@ public class TeleportWarmupTimerTask extends TownyTimerTask {
 
 		resident.setTeleportRequestTime();
 		resident.setTeleportDestination(spawnLoc);
+
+		Player player = TownyAPI.getInstance().getPlayer(resident);
+		if (player != null
+				&& TownySettings.getTeleportWarmupTime() > 0
+				&& TownySettings.isMovementCancellingSpawnWarmup()
+				&& !TownyUniverse.getInstance().getPermissionSource().isTownyAdmin(player))
+			cancelledByMovement.add(player.getUniqueId());
+
 		try {
 			if (teleportQueue.contains(resident))
 				teleportQueue.remove(resident);
@@ -84,5 +101,16 @@ public class TeleportWarmupTimerTask extends TownyTimerTask {
 			resident.clearTeleportRequest();
 			teleportQueue.remove(resident);
 		}
+		if (resident != null && resident.getUUID() != null)
+			cancelledByMovement.remove(resident.getUUID());
+	}
+
+	/**
+	 * @param uuid UUID of the player.
+	 * @return true if the player has a teleport waiting which moving would cancel.
+	 */
+	public static boolean isCancelledByMovement(UUID uuid) {
+
+		return cancelledByMovement.contains(uuid);
 	}
 }
@@ -7,7 +7,6 @@ import com.palmergames.bukkit.towny.TownySettings;
 import com.palmergames.bukkit.towny.TownyUniverse;
 import com.palmergames.bukkit.towny.event.player.PlayerCacheGetTownBlockStatusEvent;
 import com.palmergames.bukkit.towny.exceptions.TownyException;
-import com.palmergames.bukkit.towny.object.Coord;
 import com.palmergames.bukkit.towny.object.Nation;
 import com.palmergames.bukkit.towny.object.PlayerCache;
 import com.palmergames.bukkit.towny.object.PlayerCache.TownBlockStatus;
@@ -67,40 +66,35 @@ public class PlayerCacheUtil {
 	 */
 	public static boolean getCachePermission(Player player, Location location, Material material, ActionType action) {
 
-		WorldCoord worldCoord;
-
-		try {
-			// Test required for portalCreateEvent in WorldListener, player hasn't changed worlds yet.
-			if (location.getWorld().equals(player.getWorld())) 
-				worldCoord = new WorldCoord(player.getWorld().getName(), Coord.parseCoord(location));
-			else 
-				worldCoord = new WorldCoord(location.getWorld().getName(), Coord.parseCoord(location));
-			PlayerCache cache = plugin.getCache(player);
-			cache.updateCoord(worldCoord);
-
-			TownyMessaging.sendDebugMsg("Cache permissions for " + action.toString() + " : " + cache.getCachePermission(material, action));
-			return cache.getCachePermission(material, action); // Throws NullPointerException if the cache is empty
+		// Use the location's world, for the portalCreateEvent in WorldListener the player hasn't changed worlds yet.
+		WorldCoord worldCoord = WorldCoord.parseWorldCoord(location);
+		PlayerCache cache = plugin.getCache(player);
+		cache.updateCoord(worldCoord);
 
-		} catch (NullPointerException e) {
-			// New or old cache permission was null, update it
+		if (cache.hasCachePermission(material, action)) {
+			boolean result = cache.getCachePermission(material, action);
+			if (TownyMessaging.isDebugging())
+				TownyMessaging.sendDebugMsg("Cache permissions for " + action.toString() + " : " + result);
+			return result;
+		}
 
-			// Test required for portalCreateEvent in WorldListener, player hasn't changed worlds yet.
-			if (location.getWorld().equals(player.getWorld())) 
-				worldCoord = new WorldCoord(player.getWorld().getName(), Coord.parseCoord(location));
-			else 
-				worldCoord = new WorldCoord(location.getWorld().getName(), Coord.parseCoord(location));
+		// New or old cache permission was missing, update it.
+		TownBlockStatus status = cacheStatus(player, worldCoord, fetchTownBlockStatus(player, worldCoord));
+		triggerCacheCreate(player, location, worldCoord, status, material, action);
 
-			TownBlockStatus status = cacheStatus(player, worldCoord, fetchTownBlockStatus(player, worldCoord));
-			triggerCacheCreate(player, location, worldCoord, status, material, action);
+		cache = plugin.getCache(player);
+		cache.updateCoord(worldCoord);
+		
+		if (!cache.hasCachePermission(material, action))
+			// Only possible when an ActionType added in the future is not cached by triggerCacheCreate.
+			return getPermission(player, status, worldCoord, material, action);
 
-			PlayerCache cache = plugin.getCache(player);
-			cache.updateCoord(worldCoord);
-			
+		boolean result = cache.getCachePermission(material, action);
+		if (TownyMessaging.isDebugging()) {
 			TownyMessaging.sendDebugMsg("New Cache Created and updated!");
-
-			TownyMessaging.sendDebugMsg("New Cache permissions for " + material + ":" + action.toString() + ":" + status.name() + " = " + cache.getCachePermission(material, action));
-			return cache.getCachePermission(material, action);
+			TownyMessaging.sendDebugMsg("New Cache permissions for " + material + ":" + action.toString() + ":" + status.name() + " = " + result);
 		}
+		return result;
 	}
 
 	/**
@@ -149,7 +143,8 @@ public class PlayerCacheUtil {
 		cache.updateCoord(worldCoord);
 		cache.setStatus(townBlockStatus);
 
-		TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Status: " + townBlockStatus);
+		if (TownyMessaging.isDebugging())
+			TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Status: " + townBlockStatus);
 		return townBlockStatus;
 	}
 
@@ -167,7 +162,8 @@ public class PlayerCacheUtil {
 		cache.updateCoord(worldCoord);
 		cache.setBuildPermission(material, buildRight);
 
-		TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Build: " + buildRight);
+		if (TownyMessaging.isDebugging())
+			TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Build: " + buildRight);
 	}
 
 	/**
@@ -184,7 +180,8 @@ public class PlayerCacheUtil {
 		cache.updateCoord(worldCoord);
 		cache.setDestroyPermission(material, destroyRight);
 
-		TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Destroy: " + destroyRight);
+		if (TownyMessaging.isDebugging())
+			TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Destroy: " + destroyRight);
 	}
 
 	/**
@@ -201,7 +198,8 @@ public class PlayerCacheUtil {
 		cache.updateCoord(worldCoord);
 		cache.setSwitchPermission(material, switchRight);
 
-		TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Switch: " + switchRight);
+		if (TownyMessaging.isDebugging())
+			TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Switch: " + switchRight);
 	}
 
 	/**
@@ -218,7 +216,8 @@ public class PlayerCacheUtil {
 		cache.updateCoord(worldCoord);
 		cache.setItemUsePermission(material, itemUseRight);
 
-		TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Item Use: " + itemUseRight);
+		if (TownyMessaging.isDebugging())
+			TownyMessaging.sendDebugMsg(player.getName() + " (" + worldCoord.toString() + ") Cached Item Use: " + itemUseRight);
 	}
 
 	/**
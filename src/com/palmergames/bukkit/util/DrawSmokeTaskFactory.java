@@ -29,4 +29,27 @@ public class DrawSmokeTaskFactory {
             }
         };
     }
+
+    /**
+     * Send the smoke effect to the player, with fewer particles the further
+     * away from the player it is, and none past 32 blocks.
+     * 
+     * @param player - {@link Player} to send smoke effect
+     * @return {@link LocationRunnable}
+     */
+    public static LocationRunnable sendToPlayerByDistance(final Player player) {
+        final Location viewer = player.getLocation();
+        return new LocationRunnable() {
+            Vector offset = new Vector(0.5, 1.5, 0.5);
+
+            @Override
+            public void run(Location loc) {
+            	loc.add(offset);
+            	double distanceSquared = loc.distanceSquared(viewer);
+            	int count = distanceSquared <= 64 ? 5 : distanceSquared <= 256 ? 3 : distanceSquared <= 1024 ? 1 : 0;
+            	if (count > 0)
+            		player.spawnParticle(Particle.SMOKE_NORMAL, loc, count,0,0,0,0);
+            }
+        };
+    }
 }
\ No newline at end of file
@@ -18,9 +18,10 @@ import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.Properties;
@@ -170,14 +171,27 @@ public final class FileMgmt {
 	public static boolean listToFile(Collection<String> source, String targetLocation) {
 		try {
 			writeLock.lock();
+			// Write to a temporary file first and move it over the target, so a crash
+			// mid-write can never leave a truncated file behind.
 			File file = new File(targetLocation);
-			try(OutputStreamWriter osw = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8);
+			File tempFile = new File(targetLocation + ".tmp");
+			try(OutputStreamWriter osw = new OutputStreamWriter(new FileOutputStream(tempFile), StandardCharsets.UTF_8);
 				BufferedWriter bufferedWriter = new BufferedWriter(osw)) {
 
 				for (String aSource : source) {
 					bufferedWriter.write(aSource + System.getProperty("line.separator"));
 				}
+			} catch (IOException e) {
+				e.printStackTrace();
+				return false;
+			}
 
+			try {
+				try {
+					Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
 				return true;
 			} catch (IOException e) {
 				e.printStackTrace();
@@ -452,8 +466,11 @@ public final class FileMgmt {
 				// Write the plot height (who knows Mojang might change it a second time.
 				fout.writeInt(data.getHeight());
 				// Write the actual blocks with their BlockData included.
-				for (String block : new ArrayList<>(data.getBlockList()))
-					fout.writeUTF(block);
+				if (data.getVersion() >= 5)
+					data.getPackedBlockList().write(fout);
+				else
+					for (String block : data.getBlockList())
+						fout.writeUTF(block);
 			}
 		} catch (IOException e1) {
 			e1.printStackTrace();
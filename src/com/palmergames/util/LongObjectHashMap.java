@@ -0,0 +1,322 @@
+package com.palmergames.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Open-addressing hash map keyed by primitive longs, using linear probing.
+ *
+ * Keys are never boxed and lookups allocate nothing. Null values are not
+ * permitted, an empty slot is marked by a null value.
+ *
+ * Writes are serialized behind a {@link StampedLock}, reads are optimistic and
+ * only fall back to taking the read lock when they overlap with a write, so
+ * the map can be safely read from async threads.
+ *
+ * @param <V> type of the stored values.
+ */
+public class LongObjectHashMap<V> {
+
+	private static final int MIN_CAPACITY = 16;
+	private static final float LOAD_FACTOR = 0.6f;
+
+	private final StampedLock lock = new StampedLock();
+	private long[] keys;
+	private Object[] values;
+	private int size;
+	private int resizeAt;
+
+	public LongObjectHashMap() {
+		this(MIN_CAPACITY);
+	}
+
+	public LongObjectHashMap(int expectedSize) {
+		allocate(tableSizeFor(expectedSize));
+	}
+
+	/**
+	 * Mixes the bits of a key so that neighbouring coordinates spread evenly over the table.
+	 *
+	 * @param key key to hash.
+	 * @return well distributed hash of the key.
+	 */
+	private static int hash(long key) {
+		key ^= key >>> 33;
+		key *= 0xff51afd7ed558ccdL;
+		key ^= key >>> 33;
+		return (int) key;
+	}
+
+	private static int tableSizeFor(int expectedSize) {
+		int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+		int capacity = MIN_CAPACITY;
+		while (capacity < needed)
+			capacity <<= 1;
+		return capacity;
+	}
+
+	private void allocate(int capacity) {
+		keys = new long[capacity];
+		values = new Object[capacity];
+		resizeAt = (int) (capacity * LOAD_FACTOR);
+	}
+
+	/**
+	 * @param key key to look up.
+	 * @return the value stored under the key or null.
+	 */
+	@Nullable
+	public V get(long key) {
+		long stamp = lock.tryOptimisticRead();
+		if (stamp != 0L) {
+			V value = find(keys, values, key);
+			if (lock.validate(stamp))
+				return value;
+		}
+
+		stamp = lock.readLock();
+		try {
+			return find(keys, values, key);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	public boolean containsKey(long key) {
+		return get(key) != null;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private static <V> V find(long[] keys, Object[] values, long key) {
+		// An optimistic read may observe the arrays mid-resize, in which case the
+		// stamp validation fails and the result is discarded anyway.
+		if (keys.length != values.length)
+			return null;
+
+		int mask = keys.length - 1;
+		int index = hash(key) & mask;
+		for (int probes = 0; probes < keys.length; probes++) {
+			Object value = values[index];
+			if (value == null)
+				return null;
+			if (keys[index] == key)
+				return (V) value;
+			index = (index + 1) & mask;
+		}
+		return null;
+	}
+
+	/**
+	 * @param key key to store the value under.
+	 * @param value value to store, cannot be null.
+	 * @return the previous value stored under the key or null.
+	 */
+	@Nullable
+	public V put(long key, V value) {
+		return put(key, value, true);
+	}
+
+	/**
+	 * @param key key to store the value under.
+	 * @param value value to store, cannot be null.
+	 * @return the value already stored under the key, or null if the new value was stored.
+	 */
+	@Nullable
+	public V putIfAbsent(long key, V value) {
+		return put(key, value, false);
+	}
+
+	@SuppressWarnings("unchecked")
+	@Nullable
+	private V put(long key, V value, boolean replace) {
+		if (value == null)
+			throw new NullPointerException("LongObjectHashMap does not permit null values.");
+
+		long stamp = lock.writeLock();
+		try {
+			int mask = keys.length - 1;
+			int index = hash(key) & mask;
+			while (values[index] != null) {
+				if (keys[index] == key) {
+					V previous = (V) values[index];
+					if (replace)
+						values[index] = value;
+					return previous;
+				}
+				index = (index + 1) & mask;
+			}
+
+			keys[index] = key;
+			values[index] = value;
+			if (++size > resizeAt)
+				rehash(keys.length << 1);
+			return null;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Replaces the value stored under the key while holding the write lock, so
+	 * that concurrent updates to the same key cannot be lost.
+	 *
+	 * @param key key of the value to replace.
+	 * @param remapping given the current value or null, returns the new value, or null to remove it.
+	 * @return the new value stored under the key or null.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public V compute(long key, UnaryOperator<V> remapping) {
+		long stamp = lock.writeLock();
+		try {
+			int mask = keys.length - 1;
+			int index = hash(key) & mask;
+			while (values[index] != null && keys[index] != key)
+				index = (index + 1) & mask;
+
+			boolean present = values[index] != null;
+			V value = remapping.apply(present ? (V) values[index] : null);
+			if (value == null) {
+				if (present) {
+					shiftBack(index);
+					size--;
+				}
+			} else if (present) {
+				values[index] = value;
+			} else {
+				keys[index] = key;
+				values[index] = value;
+				if (++size > resizeAt)
+					rehash(keys.length << 1);
+			}
+			return value;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * @param key key to remove.
+	 * @return the value that was stored under the key or null.
+	 */
+	@SuppressWarnings("unchecked")
+	@Nullable
+	public V remove(long key) {
+		long stamp = lock.writeLock();
+		try {
+			int mask = keys.length - 1;
+			int index = hash(key) & mask;
+			while (values[index] != null) {
+				if (keys[index] == key) {
+					V previous = (V) values[index];
+					shiftBack(index);
+					size--;
+					return previous;
+				}
+				index = (index + 1) & mask;
+			}
+			return null;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * Backward-shift deletion, keeps every probe chain unbroken without needing tombstones.
+	 *
+	 * @param gap index of the slot being emptied.
+	 */
+	private void shiftBack(int gap) {
+		int mask = keys.length - 1;
+		int index = gap;
+		while (true) {
+			index = (index + 1) & mask;
+			Object value = values[index];
+			if (value == null)
+				break;
+
+			int home = hash(keys[index]) & mask;
+			// Only move the entry if its home slot does not lie cyclically within (gap, index].
+			if (gap <= index ? (gap >= home || home > index) : (gap >= home && home > index)) {
+				keys[gap] = keys[index];
+				values[gap] = value;
+				gap = index;
+			}
+		}
+		keys[gap] = 0L;
+		values[gap] = null;
+	}
+
+	private void rehash(int capacity) {
+		long[] oldKeys = keys;
+		Object[] oldValues = values;
+		allocate(capacity);
+
+		int mask = capacity - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldValues[i] == null)
+				continue;
+			int index = hash(oldKeys[i]) & mask;
+			while (values[index] != null)
+				index = (index + 1) & mask;
+			keys[index] = oldKeys[i];
+			values[index] = oldValues[i];
+		}
+	}
+
+	public int size() {
+		long stamp = lock.readLock();
+		try {
+			return size;
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+
+	public void clear() {
+		long stamp = lock.writeLock();
+		try {
+			allocate(MIN_CAPACITY);
+			size = 0;
+		} finally {
+			lock.unlockWrite(stamp);
+		}
+	}
+
+	/**
+	 * @return a snapshot of the values, safe to iterate while the map is modified.
+	 */
+	public List<V> values() {
+		List<V> out = new ArrayList<>(size());
+		forEachValue(out::add);
+		return out;
+	}
+
+	/**
+	 * Runs the action against every value while holding the read lock. The
+	 * action must not modify this map.
+	 *
+	 * @param action Consumer to run.
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEachValue(Consumer<? super V> action) {
+		long stamp = lock.readLock();
+		try {
+			for (Object value : values)
+				if (value != null)
+					action.accept((V) value);
+		} finally {
+			lock.unlockRead(stamp);
+		}
+	}
+}
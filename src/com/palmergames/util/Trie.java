@@ -1,219 +1,194 @@
 package com.palmergames.util;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.Queue;
 
 /**
- * Dynamic trie structure that can add/remove keys and recursively get matching strings for a key 
- * 
+ * Dynamic trie structure that can add/remove keys and get the keys starting with a prefix.
+ *
+ * Keys are matched case-insensitively but returned as they were added. Nodes
+ * are never changed once built: adding or removing a key copies the nodes on
+ * its path and swaps in a new root, so the trie can be read from any thread
+ * without locking while it is being changed.
+ *
  * @author stzups
  */
 public class Trie {
 
 	private static final int MAX_RETURNS = 100;
+
 	/**
-	 * TrieNode implementation that handles any character and keeps track of its own children and character
+	 * Immutable node, children are kept sorted by their case-folded character.
 	 */
-	public static class TrieNode {
-		List<TrieNode> children = new ArrayList<>();
-		char character;
-		boolean endOfWord = false;
-
-		TrieNode(char character) {
-			this.character = character;
+	private static final class TrieNode {
+		private static final TrieNode EMPTY = new TrieNode(new char[0], new TrieNode[0], new String[0]);
+
+		private final char[] characters;
+		private final TrieNode[] children;
+		// Keys ending at this node, more than one if they only differ by case.
+		private final String[] words;
+
+		private TrieNode(char[] characters, TrieNode[] children, String[] words) {
+			this.characters = characters;
+			this.children = children;
+			this.words = words;
 		}
-	}
 
-	private final TrieNode root;
+		private boolean isEmpty() {
+			return children.length == 0 && words.length == 0;
+		}
 
-	/**
-	 * Constructor that creates a new trie with a null root
-	 */
-	public Trie() {
-		root = new TrieNode(Character.MIN_VALUE);
-	}
+		private TrieNode getChild(char character) {
+			int index = Arrays.binarySearch(characters, character);
+			return index < 0 ? null : children[index];
+		}
 
-	/**
-	 * Adds and links new TrieNodes to the trie for each character in the string
-	 * 
-	 * @param key key to add to trie, can be longer than one character
-	 */
-	public void addKey(String key) {
-		// Current trieNode to crawl through
-		TrieNode trieNode = root;
-
-		// Loop through each character of key
-		for (int i = 0; i < key.length(); i++) {
-			char index = key.charAt(i);
-
-			TrieNode lastNode = trieNode;
-			trieNode = null;
-			for (TrieNode node : lastNode.children) {
-				if (node.character == index) {
-					trieNode = node;
-					break;
+		private TrieNode withChild(char character, TrieNode child) {
+			int index = Arrays.binarySearch(characters, character);
+			if (index >= 0) {
+				if (child.isEmpty()) {
+					// Drop the emptied child.
+					char[] newCharacters = new char[characters.length - 1];
+					TrieNode[] newChildren = new TrieNode[children.length - 1];
+					System.arraycopy(characters, 0, newCharacters, 0, index);
+					System.arraycopy(characters, index + 1, newCharacters, index, characters.length - index - 1);
+					System.arraycopy(children, 0, newChildren, 0, index);
+					System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+					return new TrieNode(newCharacters, newChildren, words);
 				}
+				TrieNode[] newChildren = children.clone();
+				newChildren[index] = child;
+				return new TrieNode(characters, newChildren, words);
 			}
 
-			if (trieNode == null) {
-				trieNode = new TrieNode(index);
-				lastNode.children.add(trieNode); // Put this node as one of lastNode's children
+			if (child.isEmpty())
+				return this;
+
+			int insert = -index - 1;
+			char[] newCharacters = new char[characters.length + 1];
+			TrieNode[] newChildren = new TrieNode[children.length + 1];
+			System.arraycopy(characters, 0, newCharacters, 0, insert);
+			System.arraycopy(characters, insert, newCharacters, insert + 1, characters.length - insert);
+			System.arraycopy(children, 0, newChildren, 0, insert);
+			System.arraycopy(children, insert, newChildren, insert + 1, children.length - insert);
+			newCharacters[insert] = character;
+			newChildren[insert] = child;
+			return new TrieNode(newCharacters, newChildren, words);
+		}
+
+		private TrieNode withWord(String word) {
+			for (String existing : words)
+				if (existing.equals(word))
+					return this;
 
-				if (i == key.length() - 1) { // Check if this is the last character of the key, indicating a word ending
-					trieNode.endOfWord = true;
+			String[] newWords = Arrays.copyOf(words, words.length + 1);
+			newWords[words.length] = word;
+			Arrays.sort(newWords);
+			return new TrieNode(characters, children, newWords);
+		}
+
+		private TrieNode withoutWord(String word) {
+			for (int i = 0; i < words.length; i++) {
+				if (words[i].equals(word)) {
+					String[] newWords = new String[words.length - 1];
+					System.arraycopy(words, 0, newWords, 0, i);
+					System.arraycopy(words, i + 1, newWords, i, words.length - i - 1);
+					return new TrieNode(characters, children, newWords);
 				}
 			}
+			return this;
 		}
 	}
 
+	private volatile TrieNode root = TrieNode.EMPTY;
+
 	/**
-	 * Removes TrieNodes for a key
-	 * 
-	 * @param key key to remove
+	 * Adds a key to the trie
+	 *
+	 * @param key key to add to trie, can be longer than one character
 	 */
-	public void removeKey(String key) {
-		
-		// Fast-fail if empty / null
+	public synchronized void addKey(String key) {
 		if (key == null || key.isEmpty())
 			return;
-		
-		Queue<TrieNode> found = Collections.asLifoQueue(new LinkedList<>());
-
-		// Build a stack of nodes matching the key
-		TrieNode lastNode = root;
-		for (int i = 0; i < key.length(); i++) {
-			char currChar = key.charAt(i);
-			// Search for the node matching the character
-			TrieNode charNode = null;
-			for (TrieNode loopNode : lastNode.children) {
-				if (loopNode.character == currChar) {
-					charNode = loopNode;
-					// There should only be one so we can fast-exit.
-					break;
-				}
-			}
-			if (charNode != null) {
-				found.add(charNode);
-				lastNode = charNode;
-			}
-			else
-				break;
-		}
-		
-		// Something clearly went wrong if this is the case.
-		if (found.isEmpty() ||
-			(found.peek().character != key.charAt(key.length() - 1)))
-			return;
-		
-		// Removal Part
-		
-		// Get the node matching the last character of the key.
-		TrieNode lastCharNode = found.poll();
-		// Set end of word to false
-		lastCharNode.endOfWord = false;
-		// Only remove the previous nodes if there are no children
-		if (lastCharNode.children.isEmpty()) {
-			char lastChar = lastCharNode.character;
-			while (!found.isEmpty()) {
-				lastCharNode = found.poll();
-				Iterator<TrieNode> nodeIterator = lastCharNode.children.iterator();
-				while (nodeIterator.hasNext()) {
-					if (nodeIterator.next().character == lastChar) {
-						nodeIterator.remove();
-						break;
-					}
-				}
 
-				if (lastCharNode.endOfWord || !lastCharNode.children.isEmpty())
-					break;
-				
-				lastChar = lastCharNode.character;
-			}
-		}
+		root = add(root, key, 0);
+	}
+
+	private static TrieNode add(TrieNode node, String key, int depth) {
+		if (depth == key.length())
+			return node.withWord(key);
+
+		char character = Character.toLowerCase(key.charAt(depth));
+		TrieNode child = node.getChild(character);
+		return node.withChild(character, add(child == null ? TrieNode.EMPTY : child, key, depth + 1));
 	}
 
 	/**
-	 * Gets all matching strings and their children for a key
-	 * 
-	 * @param key string to search for in tree
-	 * @return matching strings and their children
+	 * Removes a key from the trie
+	 *
+	 * @param key key to remove
 	 */
-	public List<String> getStringsFromKey(String key) {
-		// Empty key means find all nodes, starting from the root node
-		if (key.length() == 0) {
-			return getChildrenStrings(root, new ArrayList<>());
-		}
+	public synchronized void removeKey(String key) {
 
-		List<String> strings = new ArrayList<>();
-
-		Map<TrieNode, String> nodes = new HashMap<>(); // Contains a key for each TrieNode
-		nodes.put(root, ""); // Start with the root node
+		// Fast-fail if empty / null
+		if (key == null || key.isEmpty())
+			return;
 
-		for (int i = 0; i < key.length(); i++) {
-			Map<TrieNode, String> newNodes = new HashMap<>(); // An updated version of nodes, will not contain the old values
-			char index = Character.toLowerCase(key.charAt(i));
+		root = remove(root, key, 0);
+	}
 
-			for (Map.Entry<TrieNode, String> entry : nodes.entrySet()) { // Loop through the old nodes
+	private static TrieNode remove(TrieNode node, String key, int depth) {
+		if (depth == key.length())
+			return node.withoutWord(key);
 
-				for (TrieNode node : entry.getKey().children) {
+		char character = Character.toLowerCase(key.charAt(depth));
+		TrieNode child = node.getChild(character);
+		if (child == null)
+			return node;
 
-					if (Character.toLowerCase(node.character) == index) {
-						String realKey = entry.getValue()+node.character;
-						newNodes.put(node, realKey); // entry.getValue is the old key for the node, for example "bana" as entry.getValue() and "n" as listNode.character resulting in "banan" for listNode
+		TrieNode newChild = remove(child, key, depth + 1);
+		return newChild == child ? node : node.withChild(character, newChild);
+	}
 
-						if (i == key.length() - 1) { // Check if this is the last character of the key, indicating a word ending. From here we need to find all the possible children
+	/**
+	 * Gets the keys starting with the given string, ignoring case, in
+	 * alphabetical order. At most {@value #MAX_RETURNS} keys are returned.
+	 *
+	 * @param key string to search for in tree
+	 * @return matching strings
+	 */
+	public List<String> getStringsFromKey(String key) {
+		TrieNode node = root;
+		for (int i = 0; i < key.length() && node != null; i++)
+			node = node.getChild(Character.toLowerCase(key.charAt(i)));
 
-							for (String string : getChildrenStrings(node, new ArrayList<>())) { // Recursively find all children
-								strings.add(realKey + string); // Add the key to the front of each child string
-							}
-						}
-					}
-				}
-			}
-			nodes = newNodes;
-		}
+		if (node == null)
+			return Collections.emptyList();
 
+		List<String> strings = new ArrayList<>();
+		collect(node, strings);
 		return strings;
 	}
 
 	/**
-	 * Recursively find all children of a TrieNode, and add to a list of strings
-	 * 
-	 * @param find the current TrieNode to search through its own children
-	 * @param found strings that have already been found
-	 * @return strings of all children found, with this TrieNode's character in front of each string
+	 * Walks the node and its children depth first, adding the keys found
+	 * until enough have been found.
+	 *
+	 * @return false once enough keys have been found.
 	 */
-	private static List<String> getChildrenStrings(TrieNode find, List<String> found) {
-		
-		List<String> childrenStrings = new ArrayList<>(); // Create re-usable list to prevent object allocation
-		for (TrieNode trieNode : find.children) { // Loop through each child
-
-			if (found.size() + 1 > MAX_RETURNS) {
-				return found;
-			}
-			
-			if (trieNode.endOfWord) // End of the word, so explicitly add this character.
-				found.add(String.valueOf(trieNode.character));
-			
-			// Only get children if the node has children.
-			if (!trieNode.children.isEmpty()) {
-				childrenStrings.clear();
-				for (String string : getChildrenStrings(trieNode, childrenStrings)) {
-					if (found.size() + 1 > MAX_RETURNS) {
-						return found;
-					} else {
-						found.add(trieNode.character + string);
-					}
-				}
-			}
+	private static boolean collect(TrieNode node, List<String> found) {
+		for (String word : node.words) {
+			if (found.size() >= MAX_RETURNS)
+				return false;
+			found.add(word);
 		}
 
-		return found;
+		for (TrieNode child : node.children)
+			if (!collect(child, found))
+				return false;
+
+		return found.size() < MAX_RETURNS;
 	}
 }